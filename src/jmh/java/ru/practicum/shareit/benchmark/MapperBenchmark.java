@@ -0,0 +1,145 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.item.comment.CommentPreview;
+import ru.practicum.shareit.item.comment.CommentPreviews;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.LatestComment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mapping cost of {@code size} item and booking responses. Comment previews go through {@link CommentPreviews}
+ * over a mocked repository answering like the per-item LIMIT query: {@link CommentPreviews#LATEST_COMMENTS}
+ * rows per item, each carrying the item's maintained total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Item item;
+
+    private List<Item> items;
+
+    private List<Long> itemIds;
+
+    private CommentPreviews commentPreviews;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        User owner = new User(1L, "owner", "owner@mail.ru", null);
+        User author = new User(2L, "author", "author@mail.ru", null);
+        item = new Item(1L, "Drill", "Cordless drill", true, owner, null, 0, null, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        items = new ArrayList<>(size);
+        itemIds = new ArrayList<>(size);
+        List<LatestComment> latest = new ArrayList<>(size * CommentPreviews.LATEST_COMMENTS);
+        for (long id = 1; id <= size; id++) {
+            items.add(new Item(id, "Drill " + id, "Cordless drill " + id, true, owner, null,
+                    CommentPreviews.LATEST_COMMENTS, null, null, null, null));
+            itemIds.add(id);
+            for (int i = 0; i < CommentPreviews.LATEST_COMMENTS; i++) {
+                latest.add(latestComment(id * CommentPreviews.LATEST_COMMENTS + i, id, "comment " + i,
+                        author.getName(), now.minusMinutes(i)));
+            }
+        }
+        CommentRepository commentRepository = mock(CommentRepository.class);
+        when(commentRepository.findLatestByItemIds(anyCollection(), anyInt())).thenReturn(latest);
+        commentPreviews = new CommentPreviews(commentRepository);
+
+        bookings = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            bookings.add(new Booking(i, now.plusHours(i), now.plusHours(i + 1), item, author, Status.APPROVED, null));
+        }
+    }
+
+    @Benchmark
+    public void itemToDtoWithComments(Blackhole blackhole) {
+        Map<Long, CommentPreview> previews = commentPreviews.forItems(itemIds);
+        for (Item each : items) {
+            blackhole.consume(ItemMapper.toItemDto(each, previews.getOrDefault(each.getId(), CommentPreview.EMPTY)));
+        }
+    }
+
+    @Benchmark
+    public void bookingsToDtoResponse(Blackhole blackhole) {
+        ItemDto itemDto = ItemMapper.toItemDto(item, CommentPreview.EMPTY);
+        for (Booking booking : bookings) {
+            UserDto bookerDto = UserMapper.toUserDto(booking.getBooker());
+            blackhole.consume(BookingMapper.toBookingDtoResponse(booking, itemDto, bookerDto));
+        }
+    }
+
+    private static LatestComment latestComment(long id, long itemId, String text, String authorName,
+                                               LocalDateTime created) {
+        return new LatestComment() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return text;
+            }
+
+            @Override
+            public String getAuthorName() {
+                return authorName;
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return created;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return (long) CommentPreviews.LATEST_COMMENTS;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository paths against an H2 database seeded with {@code size} items and bookings, and
+ * {@code size} comments on the first item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int PAGE = 20;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    private ItemService itemService;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long bookerId;
+
+    private long ownerId;
+
+    private long commentedItemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+        itemSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingPageDto bookerAllFirstPage() {
+        return bookingService.getBookings(bookerId, ru.practicum.shareit.booking.State.ALL, null, PAGE);
+    }
+
+    @Benchmark
+    public BookingPageDto bookerPastFirstPage() {
+        return bookingService.getBookings(bookerId, ru.practicum.shareit.booking.State.PAST, null, PAGE);
+    }
+
+    @Benchmark
+    public BookingPageDto ownerWaitingFirstPage() {
+        return bookingService.getCurrentUserBookings(ownerId, ru.practicum.shareit.booking.State.WAITING, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> searchIndex() {
+        return itemSearchIndex.search("drill 4", PAGE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return transactionTemplate.execute(status -> itemService.searchItems("drill 4", PAGE));
+    }
+
+    @Benchmark
+    public ItemDto itemWithCommentPreview() {
+        return itemService.getById(commentedItemId, bookerId);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@bench.ru'), ('booker', 'booker@bench.ru')");
+        ownerId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'owner@bench.ru'", Long.class);
+        bookerId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'booker@bench.ru'", Long.class);
+
+        List<Object[]> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Object[]{"Drill " + i, "Cordless drill number " + i, ownerId});
+        }
+        jdbc.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, TRUE, ?)", items);
+        List<Long> itemIds = jdbc.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        LocalDateTime base = LocalDateTime.now().minusDays(size / 2);
+        String[] statuses = {"APPROVED", "WAITING", "REJECTED"};
+        List<Object[]> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = base.plusDays(i);
+            bookings.add(new Object[]{start, start.plusHours(2), itemIds.get(i), bookerId, statuses[i % 3]});
+        }
+        jdbc.batchUpdate("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", bookings);
+
+        commentedItemId = itemIds.get(0);
+        List<Object[]> comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            comments.add(new Object[]{"Comment " + i, bookerId, commentedItemId, base.plusMinutes(i)});
+        }
+        jdbc.batchUpdate("INSERT INTO comments (id, text, user_id, item_id, created_at) "
+                + "VALUES (NEXT VALUE FOR comments_seq, ?, ?, ?, ?)", comments);
+        jdbc.update("UPDATE items SET comment_count = ? WHERE id = ?", size, commentedItemId);
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform-thread and virtual-thread request execution under simulated database latency.
+ * Most clients hit a DB-bound endpoint while a few run an item search that misses the in-memory index,
+ * which is answered without a transaction or a pooled connection; with platform threads the slow requests
+ * exhaust Tomcat and the searches queue behind them. Both modes run with the same pool size and connection
+ * timeout, so the thread mode is the only difference between them.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+    private static final String INDEX_MISS = "/items/search?text=nothing-matches";
+
+    @State(Scope.Benchmark)
+    public static class App {
+        @Param({"false", "true"})
+        public boolean virtualThreads;
+
+        @Param({"10", "50"})
+        public int poolSize;
+
+        @Param({"20"})
+        public long dbLatencyMs;
+
+        private volatile boolean latencyActive;
+
+        private ServletWebServerApplicationContext context;
+
+        private HttpClient client;
+
+        private String baseUrl;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItApp.class)
+                    .properties("server.port=0")
+                    .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                        @Override
+                        public Object postProcessAfterInitialization(Object bean, String beanName) {
+                            return bean instanceof DataSource dataSource ? slow(dataSource) : bean;
+                        }
+                    }));
+            builder = virtualThreads ? builder.profiles("test", "virtual") : builder.profiles("test");
+            // Command-line arguments outrank the virtual profile's pool settings.
+            context = (ServletWebServerApplicationContext) builder.run(
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "--spring.datasource.hikari.connection-timeout=3000");
+
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            for (int i = 0; i < 20; i++) {
+                jdbc.update("INSERT INTO users (name, email) VALUES (?, ?)", "user" + i, "user" + i + "@load.ru");
+            }
+            baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            client = HttpClient.newHttpClient();
+            get(INDEX_MISS);
+            latencyActive = true;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            latencyActive = false;
+            context.close();
+        }
+
+        int get(String path) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private DataSource slow(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{DataSource.class, AutoCloseable.class}, (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? slow(connection) : result;
+                    });
+        }
+
+        private Connection slow(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (latencyActive && method.getName().startsWith("prepare")) {
+                            Thread.sleep(dbLatencyMs);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(256)
+    public int dbBoundList(App app) {
+        return app.get("/users");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int indexSearch(App app) {
+        return app.get(INDEX_MISS);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.ConstraintViolation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of one element of a bulk request: the created resource or the reason it was rejected.
+ */
+@Data
+@AllArgsConstructor
+public class BatchResultDto<T> {
+    private int index;
+
+    private int status;
+
+    private T result;
+
+    private String error;
+
+    public static <T> BatchResultDto<T> created(int index, T result) {
+        return new BatchResultDto<>(index, HttpStatus.CREATED.value(), result, null);
+    }
+
+    public static <T> BatchResultDto<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResultDto<>(index, status.value(), null, error);
+    }
+
+    public static <T> BatchResultDto<T> invalid(int index, Set<? extends ConstraintViolation<?>> violations) {
+        String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return failed(index, HttpStatus.BAD_REQUEST, error);
+    }
+}
@@ -1,12 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.BatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
+import ru.practicum.shareit.streaming.NdjsonWriter;
 
 import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.pagination.KeysetCursor.NEXT_CURSOR_HEADER;
 
 /**
  * TODO Sprint add-bookings.
@@ -15,8 +28,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final int STREAM_CHUNK_SIZE = 100;
 
     private final BookingService bookingService;
+    private final NdjsonWriter ndjsonWriter;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public BookingDtoResponse createBooking(@RequestBody @Valid BookingDto dto,
@@ -25,28 +43,87 @@ public class BookingController {
         return bookingService.createBooking(dto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResultDto<BookingDtoResponse>> createBookings(@RequestBody List<BookingDto> dtos,
+                                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.createBookings(userId, dtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoResponse approve(@PathVariable long bookingId,
                                       @RequestParam boolean approved,
-                                      @RequestHeader("X-Sharer-User-Id") long userId) {
-        return bookingService.approveBooking(bookingId, userId, approved);
+                                      @RequestHeader("X-Sharer-User-Id") long userId,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                      String idempotencyKey) {
+        return idempotencyStore.execute("booking-approval:" + userId, idempotencyKey, bookingId + ":" + approved,
+                () -> bookingService.approveBooking(bookingId, userId, approved));
     }
 
     @GetMapping("/{bookingId}")
     public BookingDtoResponse findBookingById(@PathVariable long bookingId,
-                                              @RequestHeader("X-Sharer-User-Id") long userId) {
+                                              @RequestHeader("X-Sharer-User-Id") long userId,
+                                              WebRequest request,
+                                              HttpServletResponse response) {
+        response.setHeader(HttpHeaders.VARY, "X-Sharer-User-Id");
+        String tag = bookingService.getVersionTag(bookingId, userId);
+        if (tag != null && request.checkNotModified(tag)) {
+            return null;
+        }
         return bookingService.getBookingById(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingDtoResponse> findAllBookings(@RequestParam(defaultValue = "ALL") State state,
-                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
-        return bookingService.getBookings(userId, state);
+    public ResponseEntity<List<BookingDtoResponse>> findAllBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                                    @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return toResponse(bookingService.getBookings(userId, state, cursor, limit));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> findUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @RequestParam(required = false, defaultValue = "ALL") State state) {
-        return bookingService.getCurrentUserBookings(userId, state);
+    public ResponseEntity<List<BookingDtoResponse>> findUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(required = false, defaultValue = "ALL") State state,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        return toResponse(bookingService.getCurrentUserBookings(userId, state, cursor, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings(
+            @RequestParam(defaultValue = "ALL") State state,
+            @RequestHeader("X-Sharer-User-Id") long userId) {
+        return toStream(cursor -> bookingService.getBookings(userId, state, cursor, STREAM_CHUNK_SIZE));
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(required = false, defaultValue = "ALL") State state) {
+        return toStream(cursor -> bookingService.getCurrentUserBookings(userId, state, cursor, STREAM_CHUNK_SIZE));
+    }
+
+    /**
+     * Fetches the first page before the response is committed, so a missing user or a bad state
+     * still gets a regular error response, then keeps following the cursor while writing. Every
+     * page is read in its own transaction.
+     */
+    private ResponseEntity<StreamingResponseBody> toStream(Function<String, BookingPageDto> pages) {
+        BookingPageDto first = pages.apply(null);
+        return ndjsonWriter.<BookingDtoResponse>stream(writer -> {
+            BookingPageDto page = first;
+            page.getBookings().forEach(writer);
+            while (page.getNextCursor() != null) {
+                page = pages.apply(page.getNextCursor());
+                page.getBookings().forEach(writer);
+            }
+        });
+    }
+
+    private ResponseEntity<List<BookingDtoResponse>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
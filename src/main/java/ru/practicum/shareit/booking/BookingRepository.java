@@ -1,14 +1,113 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdAndItemId(Long bookerId, Long itemId);
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(long bookerId, long itemId, Status status,
+                                                           LocalDateTime now);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long itemOwnerId);
+    List<Booking> findByItemIdAndStatusInAndEndAfter(Long itemId, Collection<Status> statuses, LocalDateTime after);
 
-    List<Booking> findByBookerId(Long bookerId);
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<Status> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start,
+                                                                                 LocalDateTime end,
+                                                                                 ScrollPosition position,
+                                                                                 Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(Long bookerId, LocalDateTime end,
+                                                                    ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start,
+                                                                     ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Long bookerId, Status status,
+                                                                 ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdOrderByStartDescIdDesc(Long itemOwnerId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long itemOwnerId,
+                                                                                    LocalDateTime start,
+                                                                                    LocalDateTime end,
+                                                                                    ScrollPosition position,
+                                                                                    Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(Long itemOwnerId, LocalDateTime end,
+                                                                       ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(Long itemOwnerId, LocalDateTime start,
+                                                                        ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Long itemOwnerId, Status status,
+                                                                    ScrollPosition position, Limit limit);
+
+    List<Booking> findByItemIdInAndStatusInAndEndAfter(Collection<Long> itemIds, Collection<Status> statuses,
+                                                       LocalDateTime now);
+
+    /**
+     * Moves a booking of an item owned by the user from the expected status to the new one in a single
+     * statement. Returns 0 when the booking is missing, belongs to someone else or was already decided.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.status = :status, b.version = b.version + 1
+                WHERE b.id = :id AND b.status = :expected
+                  AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            """)
+    int updateStatus(@Param("id") long bookingId, @Param("ownerId") long ownerId,
+                     @Param("expected") Status expected, @Param("status") Status status);
+
+    /**
+     * Maintained values behind everything a booking response embeds; empty when the booking is missing
+     * or the user is neither its booker nor the item owner. Comments are read through
+     * {@code idx_comments_item_created} and never more than {@code previewSize} of them.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT b.version + u.version + i.version AS version, i.comment_count AS commentCount,
+                   (SELECT CAST(COALESCE(SUM(a.version), 0) AS BIGINT) FROM users a
+                        WHERE a.id IN (SELECT c.user_id FROM comments c WHERE c.item_id = i.id
+                                           ORDER BY c.created_at DESC, c.id DESC LIMIT :previewSize)) AS authorsVersion
+                FROM bookings b JOIN users u ON u.id = b.booker_id JOIN items i ON i.id = b.item_id
+                WHERE b.id = :id AND (u.id = :userId OR i.owner_id = :userId)
+            """)
+    Optional<BookingVersion> findVersionById(@Param("id") long bookingId, @Param("userId") long userId,
+                                             @Param("previewSize") int previewSize);
+
+    @Query("""
+            SELECT b FROM Booking b
+                WHERE b.item.id IN :itemIds AND b.status = :status
+                  AND (b.start = (SELECT MAX(l.start) FROM Booking l
+                                      WHERE l.item.id = b.item.id AND l.status = :status AND l.start < :now)
+                    OR b.start = (SELECT MIN(n.start) FROM Booking n
+                                      WHERE n.item.id = b.item.id AND n.status = :status AND n.start > :now))
+            """)
+    List<Booking> findLastAndNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("status") Status status);
 }
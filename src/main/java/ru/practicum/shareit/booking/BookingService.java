@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.batch.BatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 
 import java.util.List;
 
@@ -9,11 +11,18 @@ public interface BookingService {
 
     BookingDtoResponse createBooking(BookingDto bookingDto);
 
+    List<BatchResultDto<BookingDtoResponse>> createBookings(long userId, List<BookingDto> bookingDtos);
+
     BookingDtoResponse approveBooking(long bookingId, long userId, boolean approved);
 
     BookingDtoResponse getBookingById(long bookingId, long userId);
 
-    List<BookingDtoResponse> getBookings(long userId, State state);
+    /**
+     * Returns an entity tag for the booking, or null when it does not exist or the user may not see it.
+     */
+    String getVersionTag(long bookingId, long userId);
+
+    BookingPageDto getBookings(long userId, State state, String cursor, Integer limit);
 
-    List<BookingDtoResponse> getCurrentUserBookings(long userId, State state);
+    BookingPageDto getCurrentUserBookings(long userId, State state, String cursor, Integer limit);
 }
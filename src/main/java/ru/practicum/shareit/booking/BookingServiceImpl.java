@@ -1,48 +1,178 @@
 package ru.practicum.shareit.booking;
 
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.event.BookingEventType;
+import ru.practicum.shareit.booking.event.BookingOutbox;
 import ru.practicum.shareit.exception.ResourceNotFoundException;
 import ru.practicum.shareit.exception.UserIsNotOwnerException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.IntervalSet;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
+import ru.practicum.shareit.item.comment.CommentPreview;
+import ru.practicum.shareit.item.comment.CommentPreviews;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.ExistenceValidator;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.logging.LogMarkers.HOT_READ;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final KeysetCursor<LocalDateTime> CURSOR = new KeysetCursor<>("start", LocalDateTime::parse);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<Status> BLOCKING_STATUSES = EnumSet.of(Status.APPROVED, Status.WAITING);
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final ExistenceValidator existenceValidator;
+    private final Validator validator;
+    private final CommentPreviews commentPreviews;
+    private final BookingOutbox bookingOutbox;
 
 
     @Override
     @Transactional
     public BookingDtoResponse createBooking(BookingDto bookingDto) {
-        log.info("Create booking: {}", bookingDto);
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        log.info("Create booking: item {}, booker {}", bookingDto.getItemId(), bookingDto.getBookerId());
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
         User booker = userRepository.findById(bookingDto.getBookerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Booker not found"));
+        validateBooking(bookingDto, item, booker);
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(item.getId(), BLOCKING_STATUSES,
+                bookingDto.getEnd(), bookingDto.getStart())) {
+            throw new ValidationException("Item is already booked for these dates");
+        }
+
+        Booking booking = toNewBooking(bookingDto, item, booker);
+        bookingRepository.save(booking);
+        bookingOutbox.record(BookingEventType.CREATED, booking);
+        itemAvailabilityService.onBookingCreated(booking);
+
+        ItemDto itemDto = ItemMapper.toItemDto(item, commentPreviews.forItem(item.getId()));
+        UserDto bookerDto = UserMapper.toUserDto(booker);
+
+        return BookingMapper.toBookingDtoResponse(booking, itemDto, bookerDto);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResultDto<BookingDtoResponse>> createBookings(long userId, List<BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        log.info("Create {} bookings: booker {}", bookingDtos.size(), userId);
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booker not found"));
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        // One query for every booking that could still collide, then overlap checks run in memory
+        // against both stored bookings and the ones accepted earlier in this batch.
+        Map<Long, IntervalSet> taken = new HashMap<>();
+        if (!items.isEmpty()) {
+            for (Booking existing : bookingRepository.findByItemIdInAndStatusInAndEndAfter(items.keySet(),
+                    BLOCKING_STATUSES, LocalDateTime.now())) {
+                taken.computeIfAbsent(existing.getItem().getId(), id -> new IntervalSet())
+                        .add(existing.getStart(), existing.getEnd());
+            }
+        }
+
+        List<BatchResultDto<BookingDtoResponse>> results = new ArrayList<>(Collections.nCopies(bookingDtos.size(),
+                null));
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            if (bookingDto == null) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.BAD_REQUEST, "Booking must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<BookingDto>> violations = validator.validate(bookingDto);
+            if (!violations.isEmpty()) {
+                results.set(i, BatchResultDto.invalid(i, violations));
+                continue;
+            }
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.NOT_FOUND, "Item not found"));
+                continue;
+            }
+            try {
+                validateBooking(bookingDto, item, booker);
+            } catch (ValidationException e) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.BAD_REQUEST, e.getMessage()));
+                continue;
+            }
+            IntervalSet itemTaken = taken.computeIfAbsent(item.getId(), id -> new IntervalSet());
+            if (!itemTaken.busy(bookingDto.getStart(), bookingDto.getEnd()).isEmpty()) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.BAD_REQUEST,
+                        "Item is already booked for these dates"));
+                continue;
+            }
+            itemTaken.add(bookingDto.getStart(), bookingDto.getEnd());
+            accepted.put(i, toNewBooking(bookingDto, item, booker));
+        }
+
+        bookingRepository.saveAll(accepted.values());
+        bookingOutbox.recordAll(BookingEventType.CREATED, accepted.values());
+        UserDto bookerDto = UserMapper.toUserDto(booker);
+        Map<Long, CommentPreview> comments = commentPreviews.forItems(items.keySet());
+        accepted.forEach((index, booking) -> {
+            itemAvailabilityService.onBookingCreated(booking);
+            ItemDto itemDto = ItemMapper.toItemDto(booking.getItem(),
+                    comments.getOrDefault(booking.getItem().getId(), CommentPreview.EMPTY));
+            results.set(index, BatchResultDto.created(index,
+                    BookingMapper.toBookingDtoResponse(booking, itemDto, bookerDto)));
+        });
+        return results;
+    }
+
+    private void validateBooking(BookingDto bookingDto, Item item, User booker) {
         if (!item.getAvailable()) {
             throw new ValidationException("Item is not available");
         }
@@ -58,47 +188,45 @@ public class BookingServiceImpl implements BookingService {
         if (bookingDto.getStart().equals(bookingDto.getEnd())) {
             throw new ValidationException("Start date cannot be equal to end date");
         }
+    }
 
+    private static Booking toNewBooking(BookingDto bookingDto, Item item, User booker) {
         Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
+        booking.setId(null);
         booking.setStatus(Status.WAITING);
-        booking.setItem(item);
-        booking.setBooker(booker);
-        booking.setStart(bookingDto.getStart());
-        booking.setEnd(bookingDto.getEnd());
-
-        bookingRepository.save(booking);
-
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-        UserDto bookerDto = UserMapper.toUserDto(booker);
-
-        return BookingMapper.toBookingDtoResponse(booking, itemDto, bookerDto);
+        return booking;
     }
 
     @Override
     @Transactional
     public BookingDtoResponse approveBooking(long bookingId, long userId, boolean approved) {
         log.info("Approve booking: {}", bookingId);
-        Booking booking = bookingRepository.findById(bookingId)
+        Status target = approved ? Status.APPROVED : Status.REJECTED;
+        // The conditional update is the only write; concurrent approvals race on the row, not on a lock we hold.
+        boolean changed = bookingRepository.updateStatus(bookingId, userId, Status.WAITING, target) == 1;
+        Booking saved = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        User owner = booking.getItem().getOwner();
-
-        if (owner.getId() != userId) {
-            throw new ValidationException("User is not owner of booking");
-        }
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
+        if (changed) {
+            bookingOutbox.record(BookingEventType.STATUS_CHANGED, saved);
+            itemAvailabilityService.onBookingStatusChanged(saved);
         } else {
-            booking.setStatus(Status.REJECTED);
+            if (saved.getItem().getOwner().getId() != userId) {
+                throw new ValidationException("User is not owner of booking");
+            }
+            if (saved.getStatus() != target) {
+                throw new ValidationException("Booking is already " + saved.getStatus());
+            }
+            log.debug("Booking {} is already {}", bookingId, target);
         }
-        Booking saved = bookingRepository.save(booking);
-        ItemDto itemDto = ItemMapper.toItemDto(saved.getItem());
+        ItemDto itemDto = ItemMapper.toItemDto(saved.getItem(), commentPreviews.forItem(saved.getItem().getId()));
         UserDto userDto = UserMapper.toUserDto(saved.getBooker());
         return BookingMapper.toBookingDtoResponse(saved, itemDto, userDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDtoResponse getBookingById(long bookingId, long userId) {
-        log.info("Get booking: {}", bookingId);
+        log.debug(HOT_READ, "Get booking: {}", bookingId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         long owner = booking.getItem().getOwner().getId();
@@ -107,48 +235,99 @@ public class BookingServiceImpl implements BookingService {
             throw new UserIsNotOwnerException("User is not owner of booking");
         }
 
-        ItemDto itemDto = ItemMapper.toItemDto(booking.getItem());
+        ItemDto itemDto = ItemMapper.toItemDto(booking.getItem(),
+                commentPreviews.forItem(booking.getItem().getId()));
         UserDto userDto = UserMapper.toUserDto(booking.getBooker());
 
         return BookingMapper.toBookingDtoResponse(booking, itemDto, userDto);
     }
 
     @Override
-    public List<BookingDtoResponse> getBookings(long userId, State state) {
-        log.info("Get bookings: {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        List<Booking> bookings = bookingRepository.findByBookerId(userId);
-        return predicateState(bookings, state);
+    public String getVersionTag(long bookingId, long userId) {
+        return bookingRepository.findVersionById(bookingId, userId, CommentPreviews.LATEST_COMMENTS)
+                .map(BookingVersion::tag)
+                .orElse(null);
     }
 
     @Override
-    public List<BookingDtoResponse> getCurrentUserBookings(long userId, State state) {
-        log.info("Get current user bookings: {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        List<Booking> userBookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId);
-        return predicateState(userBookings, state);
+    @Transactional(readOnly = true)
+    public BookingPageDto getBookings(long userId, State state, String cursor, Integer limit) {
+        log.debug(HOT_READ, "Get bookings: {}", userId);
+        ScrollPosition position = CURSOR.decode(cursor);
+        Limit pageLimit = toLimit(limit);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> bookings = switch (state) {
+            case ALL -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(userId, position, pageLimit);
+            case CURRENT -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                    userId, now, now, position, pageLimit);
+            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+                    userId, now, position, pageLimit);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(
+                    userId, now, position, pageLimit);
+            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                    userId, Status.WAITING, position, pageLimit);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                    userId, Status.REJECTED, position, pageLimit);
+        };
+        if (bookings.isEmpty()) {
+            existenceValidator.requireUser(userId);
+        }
+        return toBookingPage(bookings);
     }
 
-    private List<BookingDtoResponse> predicateState(List<Booking> bookings, State state) {
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageDto getCurrentUserBookings(long userId, State state, String cursor, Integer limit) {
+        log.debug(HOT_READ, "Get current user bookings: {}", userId);
+        ScrollPosition position = CURSOR.decode(cursor);
+        Limit pageLimit = toLimit(limit);
         LocalDateTime now = LocalDateTime.now();
-
-        Predicate<Booking> filter = switch (state) {
-            case ALL -> b -> true;
-            case CURRENT -> b -> b.getStart().isBefore(now) && b.getEnd().isAfter(now);
-            case PAST -> b -> b.getEnd().isBefore(now);
-            case FUTURE -> b -> b.getStart().isAfter(now);
-            case WAITING -> b -> b.getStatus() == Status.WAITING;
-            case REJECTED -> b -> b.getStatus() == Status.REJECTED;
+        Window<Booking> userBookings = switch (state) {
+            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(userId, position, pageLimit);
+            case CURRENT -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                    userId, now, now, position, pageLimit);
+            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+                    userId, now, position, pageLimit);
+            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                    userId, now, position, pageLimit);
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, Status.WAITING, position, pageLimit);
+            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, Status.REJECTED, position, pageLimit);
         };
+        if (userBookings.isEmpty()) {
+            existenceValidator.requireUser(userId);
+        }
+        return toBookingPage(userBookings);
+    }
 
-        return bookings.stream()
-                .filter(filter)
+    private Limit toLimit(Integer limit) {
+        if (limit == null) {
+            return Limit.of(DEFAULT_PAGE_SIZE);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(limit);
+    }
+
+    private BookingPageDto toBookingPage(Window<Booking> bookings) {
+        Map<Long, CommentPreview> comments = commentPreviews.forItems(bookings.stream()
+                .map(b -> b.getItem().getId())
+                .collect(Collectors.toSet()));
+        List<BookingDtoResponse> content = bookings.stream()
                 .map(b -> BookingMapper.toBookingDtoResponse(
                         b,
-                        ItemMapper.toItemDto(b.getItem()),
+                        ItemMapper.toItemDto(b.getItem(), comments.getOrDefault(b.getItem().getId(),
+                                CommentPreview.EMPTY)),
                         UserMapper.toUserDto(b.getBooker())
                 ))
-                .sorted(Comparator.comparing(BookingDtoResponse::getStart).reversed())
                 .collect(Collectors.toList());
+        String nextCursor = null;
+        if (bookings.hasNext() && !bookings.isEmpty()) {
+            Booking last = bookings.getContent().getLast();
+            nextCursor = CURSOR.encode(last.getStart(), last.getId());
+        }
+        return new BookingPageDto(content, nextCursor);
     }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Maintained values that change whenever a booking response does: the versions of the booking, its booker
+ * and its item, and the item's comment preview. A projection rather than a record: native queries are
+ * mapped by alias.
+ */
+public interface BookingVersion {
+    Long getVersion();
+
+    Long getCommentCount();
+
+    Long getAuthorsVersion();
+
+    default String tag() {
+        return getVersion() + "-" + getCommentCount() + "-" + getAuthorsVersion();
+    }
+}
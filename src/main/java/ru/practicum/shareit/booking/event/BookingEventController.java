@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings/owner")
+public class BookingEventController {
+    private final BookingEventService bookingEventService;
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader("X-Sharer-User-Id") long userId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return bookingEventService.subscribe(userId, lastEventId);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") long userId,
+                             @RequestParam(defaultValue = "COALESCE") OverflowPolicy overflow) {
+        return bookingEventService.stream(userId, overflow);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventDto {
+    private Long id;
+
+    private BookingEventType type;
+
+    private Long bookingId;
+
+    private Long itemId;
+
+    private Long ownerId;
+
+    private Long bookerId;
+
+    private Status status;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private LocalDateTime created;
+
+    private Long sequence;
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.LocalDateTime;
+
+public class BookingEventMapper {
+    public static BookingEvent toBookingEvent(BookingEventType type, Booking booking, LocalDateTime created) {
+        return new BookingEvent(
+                null,
+                type,
+                booking.getId(),
+                booking.getItem().getId(),
+                booking.getItem().getOwner().getId(),
+                booking.getBooker().getId(),
+                booking.getStatus(),
+                booking.getStart(),
+                booking.getEnd(),
+                created,
+                null,
+                null
+        );
+    }
+
+    public static BookingEventDto toBookingEventDto(BookingEvent event) {
+        return new BookingEventDto(
+                event.getId(),
+                event.getType(),
+                event.getBookingId(),
+                event.getItemId(),
+                event.getOwnerId(),
+                event.getBookerId(),
+                event.getStatus(),
+                event.getStart(),
+                event.getEnd(),
+                event.getCreated(),
+                event.getPublishSeq()
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and hands each batch of unpublished events to every sink before marking it published.
+ * Published events are numbered under the sequence row lock, so publish sequences grow in commit order even
+ * though ids, allocated in pooled blocks, do not.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class BookingEventRelay {
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingEventSequenceRepository bookingEventSequenceRepository;
+    private final List<BookingEventSink> sinks;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.outbox.poll-interval:500}")
+    public void relay() {
+        List<BookingEvent> batch = bookingEventRepository.findTop100ByPublishedAtIsNullOrderByIdAsc();
+        if (batch.isEmpty()) {
+            return;
+        }
+        BookingEventSequence sequence = bookingEventSequenceRepository.findByIdForUpdate(BookingEventSequence.ID)
+                .orElseThrow(() -> new IllegalStateException("Booking event sequence is missing"));
+        long next = sequence.getLastSeq();
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingEvent event : batch) {
+            event.setPublishSeq(++next);
+            event.setPublishedAt(now);
+        }
+        sequence.setLastSeq(next);
+        List<BookingEventDto> events = batch.stream()
+                .map(BookingEventMapper::toBookingEventDto)
+                .collect(Collectors.toList());
+        for (BookingEventSink sink : sinks) {
+            sink.publish(events);
+        }
+        log.debug("Relayed {} booking events", events.size());
+    }
+
+    @Transactional
+    @Scheduled(cron = "${shareit.outbox.cleanup-cron:0 0 3 * * *}")
+    public void cleanup() {
+        int deleted = bookingEventRepository.deletePublishedBefore(LocalDateTime.now().minus(RETENTION));
+        log.info("Removed {} published booking events", deleted);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Claims the oldest unpublished events; rows another relay instance holds are skipped, not waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<BookingEvent> findTop100ByPublishedAtIsNullOrderByIdAsc();
+
+    List<BookingEvent> findByOwnerIdAndPublishSeqGreaterThanOrderByPublishSeqAsc(long ownerId, long afterSeq,
+                                                                                 Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM BookingEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
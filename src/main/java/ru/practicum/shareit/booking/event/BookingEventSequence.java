@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single-row counter of the last publish sequence handed out. Relays hold its row lock from numbering a
+ * batch until the batch commits, so sequences become visible in the order they were assigned.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "booking_event_sequence")
+public class BookingEventSequence {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_seq")
+    private Long lastSeq;
+}
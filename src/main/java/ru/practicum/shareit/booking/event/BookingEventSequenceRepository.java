@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BookingEventSequenceRepository extends JpaRepository<BookingEventSequence, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT s FROM BookingEventSequence s WHERE s.id = :id")
+    Optional<BookingEventSequence> findByIdForUpdate(@Param("id") Integer id);
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface BookingEventService {
+    /**
+     * Opens an event stream for the owner, first replaying events published after the publish sequence
+     * {@code lastEventId}.
+     */
+    SseEmitter subscribe(long ownerId, Long lastEventId);
+
+    /**
+     * Opens a live stream of new waiting bookings on the owner's items; nothing is replayed, so
+     * {@link OverflowPolicy#DISCONNECT} is rejected.
+     */
+    SseEmitter stream(long ownerId, OverflowPolicy overflow);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.validation.ExistenceValidator;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingEventServiceImpl implements BookingEventService {
+    private final BookingOutbox bookingOutbox;
+    private final SseBookingEventSink sseBookingEventSink;
+    private final BookingStreamHub bookingStreamHub;
+    private final ExistenceValidator existenceValidator;
+
+    @Override
+    public SseEmitter subscribe(long ownerId, Long lastEventId) {
+        existenceValidator.requireUser(ownerId);
+        log.info("Subscribing owner {} to booking events after {}", ownerId, lastEventId);
+        return sseBookingEventSink.subscribe(ownerId, () -> lastEventId == null ? List.of()
+                : bookingOutbox.replay(ownerId, lastEventId, SseBookingEventSink.REPLAY_LIMIT));
+    }
+
+    @Override
+    public SseEmitter stream(long ownerId, OverflowPolicy overflow) {
+        if (overflow == OverflowPolicy.DISCONNECT) {
+            throw new ValidationException("Booking stream cannot replay after a disconnect, use DROP_OLDEST or "
+                    + "COALESCE");
+        }
+        existenceValidator.requireUser(ownerId);
+        log.info("Opening booking stream for owner {}", ownerId);
+        return bookingStreamHub.subscribe(ownerId, overflow);
+    }
+}
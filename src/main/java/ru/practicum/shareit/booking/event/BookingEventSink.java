@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.event;
+
+import java.util.List;
+
+/**
+ * Destination for relayed booking events. Delivery is at least once: a batch is published again
+ * if marking it as published fails, so consumers should deduplicate by event id.
+ */
+public interface BookingEventSink {
+    void publish(List<BookingEventDto> events);
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records booking changes as outbox rows; must run inside the transaction that makes the change. Also reads
+ * published events back for stream replay.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+    private final BookingEventRepository bookingEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Booking booking) {
+        bookingEventRepository.save(BookingEventMapper.toBookingEvent(type, booking, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(BookingEventType type, Collection<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        bookingEventRepository.saveAll(bookings.stream()
+                .map(booking -> BookingEventMapper.toBookingEvent(type, booking, now))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Published events of the owner after {@code afterSeq} in publish order, mapped before the transaction
+     * ends so that neither the connection nor the entities outlive the call.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingEventDto> replay(long ownerId, long afterSeq, int limit) {
+        return bookingEventRepository.findByOwnerIdAndPublishSeqGreaterThanOrderByPublishSeqAsc(ownerId, afterSeq,
+                        Limit.of(limit)).stream()
+                .map(BookingEventMapper::toBookingEventDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fans newly created waiting bookings out to their owners' streams. Writes run on virtual threads started
+ * only while a subscriber has something to send, so idle streams cost a buffer and no thread.
+ */
+@Slf4j
+@Component
+public class BookingStreamHub implements BookingEventSink {
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private final BookingStreamRegistry streams = new BookingStreamRegistry();
+    private final int bufferSize;
+
+    public BookingStreamHub(@Value("${shareit.stream.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe(long ownerId, OverflowPolicy policy) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        subscribe(ownerId, policy, emitter);
+        return emitter;
+    }
+
+    void subscribe(long ownerId, OverflowPolicy policy, SseEmitter emitter) {
+        streams.register(ownerId, emitter, policy, bufferSize, BookingStreamHub::toSseEvent, false);
+        log.debug("Owner {} opened a booking stream ({})", ownerId, policy);
+    }
+
+    @Override
+    public void publish(List<BookingEventDto> events) {
+        List<BookingEventDto> waiting = events.stream()
+                .filter(event -> event.getType() == BookingEventType.CREATED && event.getStatus() == Status.WAITING)
+                .collect(Collectors.toList());
+        if (!waiting.isEmpty()) {
+            streams.publish(waiting);
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and surfaces clients that went away without closing.
+     */
+    @Scheduled(fixedRateString = "${shareit.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        streams.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(BookingEventDto event) {
+        return SseEmitter.event().id(String.valueOf(event.getBookingId())).name("booking").data(event);
+    }
+}
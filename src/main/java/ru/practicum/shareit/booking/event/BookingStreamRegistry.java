@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.transaction.Transactions.afterCommit;
+
+/**
+ * Open booking streams by owner. Publishing only buffers events into the subscribers; writes run on virtual
+ * threads started while a subscriber has something to send, so neither a slow client nor an idle one holds up
+ * the relay.
+ */
+class BookingStreamRegistry {
+    private final Map<Long, Set<BookingStreamSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Adds a stream for the owner. A paused stream buffers published events without sending them until
+     * {@link #resume} supplies what it has to replay first.
+     */
+    BookingStreamSubscriber register(long ownerId, SseEmitter emitter, OverflowPolicy policy, int capacity,
+                                     Function<BookingEventDto, SseEmitter.SseEventBuilder> format, boolean paused) {
+        BookingStreamSubscriber subscriber = new BookingStreamSubscriber(ownerId, emitter, policy, capacity, format,
+                paused, this::unsubscribe);
+        // Added under the map's lock: unsubscribe may be dropping this owner's emptied set at the same time.
+        subscribers.compute(ownerId, (id, owned) -> {
+            Set<BookingStreamSubscriber> streams = owned == null ? ConcurrentHashMap.newKeySet() : owned;
+            streams.add(subscriber);
+            return streams;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return subscriber;
+    }
+
+    void resume(BookingStreamSubscriber subscriber, List<BookingEventDto> replayed, boolean truncated) {
+        if (subscriber.resume(replayed, truncated)) {
+            writers.execute(subscriber::drain);
+        }
+    }
+
+    /**
+     * Buffers the events for their owners' streams once the surrounding transaction commits, so a batch
+     * the relay rolls back never reaches a client.
+     */
+    void publish(List<BookingEventDto> events) {
+        afterCommit(() -> events.forEach(event -> {
+            Set<BookingStreamSubscriber> owned = subscribers.get(event.getOwnerId());
+            if (owned != null) {
+                owned.forEach(subscriber -> offer(subscriber, event));
+            }
+        }));
+    }
+
+    void heartbeat() {
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> {
+            if (subscriber.heartbeat()) {
+                writers.execute(subscriber::drain);
+            }
+        }));
+    }
+
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private void offer(BookingStreamSubscriber subscriber, BookingEventDto event) {
+        if (subscriber.offer(event)) {
+            writers.execute(subscriber::drain);
+        }
+    }
+
+    private void unsubscribe(BookingStreamSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.getOwnerId(), (id, owned) -> {
+            owned.remove(subscriber);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+}
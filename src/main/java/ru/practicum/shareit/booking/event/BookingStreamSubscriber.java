@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One open booking stream. Publishers only touch the bounded buffer; a single writer drains it to the
+ * emitter, so a slow client never blocks the relay and an idle one holds no thread.
+ */
+@Slf4j
+class BookingStreamSubscriber {
+    private final long ownerId;
+    private final SseEmitter emitter;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final Function<BookingEventDto, SseEmitter.SseEventBuilder> format;
+    private final Consumer<BookingStreamSubscriber> onClose;
+
+    private final Deque<BookingEventDto> buffer = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private boolean resync;
+    private int dropped;
+    private boolean heartbeat;
+    private boolean overflowed;
+    private boolean paused;
+    private long sequence = Long.MIN_VALUE;
+    private volatile boolean closed;
+
+    BookingStreamSubscriber(long ownerId, SseEmitter emitter, OverflowPolicy policy, int capacity,
+                            Function<BookingEventDto, SseEmitter.SseEventBuilder> format,
+                            boolean paused, Consumer<BookingStreamSubscriber> onClose) {
+        this.ownerId = ownerId;
+        this.emitter = emitter;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.format = format;
+        this.paused = paused;
+        this.onClose = onClose;
+    }
+
+    long getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Buffers the event, applying the overflow policy when full. Events at or below the last queued publish
+     * sequence were already queued, by a replay or an earlier offer, and are skipped.
+     *
+     * @return whether the caller must schedule {@link #drain()}
+     */
+    boolean offer(BookingEventDto event) {
+        synchronized (this) {
+            if (closed || resync || overflowed) {
+                return false;
+            }
+            if (event.getSequence() != null) {
+                if (event.getSequence() <= sequence) {
+                    return false;
+                }
+                sequence = event.getSequence();
+            }
+            if (buffer.size() >= capacity) {
+                if (policy != OverflowPolicy.DROP_OLDEST) {
+                    buffer.clear();
+                    resync = policy == OverflowPolicy.COALESCE;
+                    overflowed = policy == OverflowPolicy.DISCONNECT;
+                    return claimDrain();
+                }
+                buffer.pollFirst();
+                dropped++;
+            }
+            buffer.addLast(event);
+        }
+        return claimDrain();
+    }
+
+    /**
+     * Puts the replayed events ahead of the live ones buffered while paused and starts sending. Live events the
+     * replay already covers are dropped. A truncated replay, or live events overflowing the buffer meanwhile,
+     * ends the stream after the replay so that the client reconnects for the rest.
+     *
+     * @return whether the caller must schedule {@link #drain()}
+     */
+    boolean resume(List<BookingEventDto> replayed, boolean truncated) {
+        synchronized (this) {
+            long replayedUpTo = replayed.isEmpty() ? Long.MIN_VALUE : replayed.getLast().getSequence();
+            if (truncated) {
+                overflowed = true;
+            }
+            buffer.removeIf(event -> overflowed || event.getSequence() != null && event.getSequence() <= replayedUpTo);
+            for (int i = replayed.size() - 1; i >= 0; i--) {
+                buffer.addFirst(replayed.get(i));
+            }
+            sequence = Math.max(sequence, replayedUpTo);
+            paused = false;
+        }
+        return claimDrain();
+    }
+
+    /**
+     * Queues a keep-alive comment unless something is already on its way to the client.
+     *
+     * @return whether the caller must schedule {@link #drain()}
+     */
+    boolean heartbeat() {
+        synchronized (this) {
+            if (closed || hasPending()) {
+                return false;
+            }
+            heartbeat = true;
+        }
+        return claimDrain();
+    }
+
+    void drain() {
+        do {
+            SseEmitter.SseEventBuilder next;
+            while ((next = next()) != null) {
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Closing booking stream of owner {}: {}", ownerId, e.getMessage());
+                    close();
+                    return;
+                }
+            }
+            if (isOverflowed()) {
+                log.debug("Closing booking stream of owner {} after its buffer overflowed", ownerId);
+                close();
+                return;
+            }
+            draining.set(false);
+        } while (pending() && claimDrain());
+    }
+
+    /**
+     * Ends the response and unregisters the stream. Safe to repeat: the emitter's own completion, timeout and
+     * error callbacks land here too.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+        }
+        emitter.complete();
+        onClose.accept(this);
+    }
+
+    private boolean claimDrain() {
+        return !closed && !isPaused() && draining.compareAndSet(false, true);
+    }
+
+    private synchronized boolean isPaused() {
+        return paused;
+    }
+
+    private synchronized boolean pending() {
+        return !closed && (hasPending() || heartbeat);
+    }
+
+    private synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private boolean hasPending() {
+        return resync || overflowed || dropped > 0 || !buffer.isEmpty();
+    }
+
+    private synchronized SseEmitter.SseEventBuilder next() {
+        if (closed) {
+            return null;
+        }
+        if (resync) {
+            resync = false;
+            heartbeat = false;
+            return SseEmitter.event().name("resync").data(Map.of("state", "WAITING"));
+        }
+        if (dropped > 0) {
+            int count = dropped;
+            dropped = 0;
+            return SseEmitter.event().name("dropped").data(Map.of("count", count));
+        }
+        BookingEventDto event = buffer.pollFirst();
+        if (event != null) {
+            heartbeat = false;
+            return format.apply(event);
+        }
+        if (heartbeat) {
+            heartbeat = false;
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return null;
+    }
+}
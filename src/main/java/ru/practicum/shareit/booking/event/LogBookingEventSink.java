@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Appends relayed events as JSON lines to the {@code booking-events} log, routed to its own file by logback.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.outbox.log-sink-enabled", havingValue = "true", matchIfMissing = true)
+public class LogBookingEventSink implements BookingEventSink {
+    private static final Logger EVENTS = LoggerFactory.getLogger("booking-events");
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<BookingEventDto> events) {
+        for (BookingEventDto event : events) {
+            try {
+                EVENTS.info(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.event;
+
+/**
+ * What a booking stream does when a subscriber reads slower than bookings arrive and its buffer fills up.
+ */
+public enum OverflowPolicy {
+    /**
+     * Discard the oldest buffered bookings and tell the client how many were lost.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the whole buffer and send a single {@code resync} event; the client refetches its waiting bookings.
+     */
+    COALESCE,
+    /**
+     * Close the stream; the client reconnects with {@code Last-Event-ID} and the server replays what it missed.
+     * Only for the event stream, whose ids are publish sequences; the live booking stream has nothing to
+     * replay from and rejects it.
+     */
+    DISCONNECT
+}
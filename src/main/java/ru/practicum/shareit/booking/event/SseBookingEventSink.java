@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Pushes relayed events to the server-sent event streams of the owners they concern, identified by publish
+ * sequence. The relay only fills each stream's bounded buffer after its batch commits; a stream that falls a
+ * full buffer behind is closed and catches up by reconnecting with {@code Last-Event-ID}.
+ */
+@Slf4j
+@Component
+public class SseBookingEventSink implements BookingEventSink {
+    static final int REPLAY_LIMIT = 100;
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private final BookingStreamRegistry streams = new BookingStreamRegistry();
+    private final int bufferSize;
+
+    public SseBookingEventSink(@Value("${shareit.stream.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe(long ownerId, Supplier<List<BookingEventDto>> missed) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        subscribe(ownerId, missed, emitter);
+        return emitter;
+    }
+
+    /**
+     * Registers the stream before reading what it missed, so that nothing published in between is lost; the
+     * missed events, at most {@link #REPLAY_LIMIT} of them, go out ahead of anything buffered meanwhile.
+     */
+    void subscribe(long ownerId, Supplier<List<BookingEventDto>> missed, SseEmitter emitter) {
+        BookingStreamSubscriber subscriber = streams.register(ownerId, emitter, OverflowPolicy.DISCONNECT,
+                bufferSize, SseBookingEventSink::toSseEvent, true);
+        List<BookingEventDto> replayed = missed.get();
+        streams.resume(subscriber, replayed, replayed.size() >= REPLAY_LIMIT);
+        log.debug("Owner {} subscribed to booking events, replaying {}", ownerId, replayed.size());
+    }
+
+    @Override
+    public void publish(List<BookingEventDto> events) {
+        streams.publish(events);
+    }
+
+    /**
+     * Keeps idle streams open through proxies and surfaces clients that went away without closing.
+     */
+    @Scheduled(fixedRateString = "${shareit.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        streams.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(BookingEventDto event) {
+        return SseEmitter.event().id(String.valueOf(event.getSequence())).name(event.getType().name()).data(event);
+    }
+}
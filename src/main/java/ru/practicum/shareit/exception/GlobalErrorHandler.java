@@ -1,6 +1,10 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,6 +15,7 @@ import java.util.Map;
 @Slf4j
 @ControllerAdvice
 public class GlobalErrorHandler {
+    private static final String USERS_EMAIL_CONSTRAINT = "uq_users_email";
 
     @ExceptionHandler
     public ResponseEntity<Map<String, String>> handleResourceNotFoundException(
@@ -28,6 +33,31 @@ public class GlobalErrorHandler {
         return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(
+            final DataIntegrityViolationException e) {
+        if (USERS_EMAIL_CONSTRAINT.equalsIgnoreCase(violatedConstraint(e))) {
+            return handleEmailAlreadyExistsException(new EmailAlreadyExistsException("Email already exists"));
+        }
+        HttpStatus status = HttpStatus.CONFLICT;
+        log.warn("Data integrity violation: {}", e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(status).body(Map.of("error", "Data integrity violation"));
+    }
+
+    /**
+     * The name Hibernate extracted for the dialect, without the schema H2 prefixes it with; null when the
+     * violation did not come from a named constraint.
+     */
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String name = violation.getConstraintName();
+                return name.substring(name.lastIndexOf('.') + 1);
+            }
+        }
+        return null;
+    }
+
     @ExceptionHandler
     public ResponseEntity<Map<String, String>> handleUserIsNotOwner(final UserIsNotOwnerException e) {
         HttpStatus status = HttpStatus.FORBIDDEN;
@@ -42,6 +72,22 @@ public class GlobalErrorHandler {
         return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handlePessimisticLockingFailure(
+            final PessimisticLockingFailureException e) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        log.warn("Lock timeout: {}", e.getMessage());
+        return ResponseEntity.status(status).body(Map.of("error", "Resource is busy, retry later"));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(
+            final OptimisticLockingFailureException e) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        log.warn("Concurrent modification: {}", e.getMessage());
+        return ResponseEntity.status(status).body(Map.of("error", "Resource was modified concurrently, retry"));
+    }
+
     @ExceptionHandler
     public ResponseEntity<Map<String, String>> handleUnexpectedException(final Throwable e) {
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
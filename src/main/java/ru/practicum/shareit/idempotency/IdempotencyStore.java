@@ -0,0 +1,81 @@
+package ru.practicum.shareit.idempotency;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers successful responses by idempotency key in a bounded LRU map, so a retried request
+ * gets the original answer instead of being executed again.
+ */
+@Component
+public class IdempotencyStore {
+    private static final int MAX_ENTRIES = 10_000;
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private final Map<String, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    /**
+     * Runs the action unless the key was already used in this scope; the fingerprint identifies the request
+     * so that a key reused for a different request is rejected rather than answered with a stale response.
+     * The key is reserved before the action runs, so a concurrent retry waits for the first response
+     * instead of executing again; a failed action releases the key and one of the waiters runs it instead.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, String fingerprint, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency key must not be longer than " + MAX_KEY_LENGTH);
+        }
+        String id = scope + ":" + key;
+        while (true) {
+            Entry reservation = new Entry(fingerprint, new CompletableFuture<>(), Instant.now().plus(TTL));
+            Entry entry = entries.compute(id, (ignored, existing) ->
+                    existing != null && existing.expiresAt().isAfter(Instant.now()) ? existing : reservation);
+            if (entry == reservation) {
+                return run(id, reservation, action);
+            }
+            if (!entry.fingerprint().equals(fingerprint)) {
+                throw new ValidationException("Idempotency key was already used for a different request");
+            }
+            try {
+                return (T) entry.response().join();
+            } catch (CompletionException | CancellationException e) {
+                // the first attempt failed and gave the key back
+            }
+        }
+    }
+
+    private <T> T run(String id, Entry reservation, Supplier<T> action) {
+        try {
+            T response = action.get();
+            reservation.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            entries.remove(id, reservation);
+            reservation.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> response, Instant expiresAt) {
+    }
+}
@@ -1,16 +1,33 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.BatchResultDto;
+import ru.practicum.shareit.item.availability.AvailabilityDto;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentEligibilityDto;
+import ru.practicum.shareit.item.comment.CommentEligibilityService;
+import ru.practicum.shareit.item.comment.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.streaming.NdjsonWriter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.pagination.KeysetCursor.NEXT_CURSOR_HEADER;
+
 /**
  * TODO Sprint add-controllers.
  */
@@ -18,8 +35,10 @@ import java.util.List;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
-
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final NdjsonWriter ndjsonWriter;
+    private final CommentEligibilityService commentEligibilityService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -28,6 +47,12 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResultDto<ItemDto>> createItems(@RequestBody List<ItemCreateDto> itemDtos,
+                                                     @RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemService.createBatch(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemUpdateDto itemDto,
                               @RequestHeader("X-Sharer-User-Id") long userId,
@@ -37,8 +62,20 @@ public class ItemController {
 
     @GetMapping("/{id}")
     public ItemDto getItemById(@PathVariable long id,
-                               @RequestHeader("X-Sharer-User-Id") long userId) {
-        return itemService.getById(id, userId);
+                               @RequestHeader("X-Sharer-User-Id") long userId,
+                               WebRequest request,
+                               HttpServletResponse response) {
+        response.setHeader(HttpHeaders.VARY, "X-Sharer-User-Id");
+        return itemService.getIfModified(id, userId, request::checkNotModified);
+    }
+
+    @GetMapping("/{id}/availability")
+    public AvailabilityDto getAvailability(@PathVariable long id,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime to) {
+        return itemAvailabilityService.getAvailability(id, from, to);
     }
 
     @GetMapping
@@ -46,9 +83,33 @@ public class ItemController {
         return itemService.getAllByUser(userId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return ndjsonWriter.<ItemDto>stream(items -> itemService.streamAllByUser(userId, items));
+    }
+
     @GetMapping("/search")
-    public List<ItemDto> searchItemByText(@RequestParam(name = "text") String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItemByText(@RequestParam(name = "text") String text,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        return itemService.searchItems(text, limit);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable long itemId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        CommentPageDto page = itemService.getComments(itemId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getComments());
+    }
+
+    @GetMapping("/{itemId}/comment/eligibility")
+    public CommentEligibilityDto getCommentEligibility(@PathVariable long itemId,
+                                                       @RequestHeader("X-Sharer-User-Id") long userId) {
+        return commentEligibilityService.getEligibility(userId, itemId);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -1,18 +1,49 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(long userId);
 
-    @Query("""
-            SELECT i FROM Item i
-                WHERE available = TRUE AND (i.name ILIKE %:text% OR i.description ILIKE %:text%)
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    Window<Item> findFirst100ByOwnerIdOrderByIdAsc(long userId, ScrollPosition position);
+
+    /**
+     * Reads only maintained values: the item row and the authors of its newest {@code previewSize}
+     * comments, found through {@code idx_comments_item_created}, however many comments the item has.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT i.owner_id AS ownerId, i.version AS version, i.comment_count AS commentCount,
+                   (SELECT CAST(COALESCE(SUM(a.version), 0) AS BIGINT) FROM users a
+                        WHERE a.id IN (SELECT c.user_id FROM comments c WHERE c.item_id = i.id
+                                           ORDER BY c.created_at DESC, c.id DESC LIMIT :previewSize)) AS authorsVersion
+                FROM items i
+                WHERE i.id = :id
             """)
-    List<Item> findByText(@Param("text") String text);
+    Optional<ItemVersion> findVersionById(@Param("id") long id, @Param("previewSize") int previewSize);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -1,22 +1,39 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.batch.BatchResultDto;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemCreateDto itemDto);
 
+    List<BatchResultDto<ItemDto>> createBatch(Long userId, List<ItemCreateDto> itemDtos);
+
     ItemDto update(Long userId, Long itemId, ItemUpdateDto itemDto);
 
     ItemDto getById(Long itemId, Long userId);
 
+    /**
+     * Returns the item, or null when {@code notModified} accepts its entity tag as seen by the given user.
+     * The user is validated once, and the owner's last and next bookings are looked up once for both the
+     * tag and the item.
+     */
+    ItemDto getIfModified(Long itemId, Long userId, Predicate<String> notModified);
+
     List<ItemDto> getAllByUser(Long userId);
 
-    List<ItemDto> searchItems(String text);
+    void streamAllByUser(Long userId, Consumer<ItemDto> consumer);
+
+    List<ItemDto> searchItems(String text, int limit);
+
+    CommentPageDto getComments(Long itemId, String cursor, Integer limit);
 
     CommentDto pastComment(CommentDto commentDto, Long userId, Long itemId);
 }
@@ -1,48 +1,143 @@
 package ru.practicum.shareit.item;
 
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResultDto;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exception.ResourceNotFoundException;
 import ru.practicum.shareit.exception.UserIsNotOwnerException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentEligibilityService;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentPageDto;
+import ru.practicum.shareit.item.comment.CommentPreview;
+import ru.practicum.shareit.item.comment.CommentPreviews;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.streaming.PageReader;
 import ru.practicum.shareit.user.UserServiceImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.ExistenceValidator;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.logging.LogMarkers.HOT_READ;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final KeysetCursor<LocalDateTime> COMMENT_CURSOR =
+            new KeysetCursor<>("created", LocalDateTime::parse);
+    private static final int DEFAULT_COMMENT_PAGE_SIZE = 20;
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
 
     private final ItemRepository itemRepository;
     private final UserServiceImpl userService;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final CommentPreviews commentPreviews;
+    private final CommentEligibilityService commentEligibilityService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ExistenceValidator existenceValidator;
+    private final Validator validator;
+    private final ItemRequestRepository itemRequestRepository;
+    private final PageReader pageReader;
 
     @Override
     @Transactional
     public ItemDto create(Long userId, ItemCreateDto itemDto) {
         User owner = userService.getEntityById(userId);
-        Item item = ItemMapper.toItem(itemDto, owner);
-        log.info("Creating new item: {}", item);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        ItemRequest request = null;
+        if (itemDto.getRequestId() != null) {
+            request = itemRequestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Request not found id - "
+                            + itemDto.getRequestId()));
+        }
+        Item item = ItemMapper.toItem(itemDto, owner, request);
+        log.info("Creating new item for owner: {}", userId);
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.index(saved);
+        return ItemMapper.toItemDto(saved, CommentPreview.EMPTY);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResultDto<ItemDto>> createBatch(Long userId, List<ItemCreateDto> itemDtos) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        User owner = userService.getEntityById(userId);
+        log.info("Creating {} items for owner: {}", itemDtos.size(), userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemCreateDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<BatchResultDto<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        Map<Integer, Item> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemCreateDto itemDto = itemDtos.get(i);
+            if (itemDto == null) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.BAD_REQUEST, "Item must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<ItemCreateDto>> violations = validator.validate(itemDto);
+            if (!violations.isEmpty()) {
+                results.set(i, BatchResultDto.invalid(i, violations));
+                continue;
+            }
+            ItemRequest request = itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId());
+            if (itemDto.getRequestId() != null && request == null) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.NOT_FOUND, "Request not found"));
+                continue;
+            }
+            accepted.put(i, ItemMapper.toItem(itemDto, owner, request));
+        }
+
+        // Sequence ids are assigned on persist, so the inserts themselves go out in JDBC batches at flush.
+        itemRepository.saveAll(accepted.values());
+        accepted.forEach((index, item) -> {
+            itemSearchIndex.index(item);
+            results.set(index, BatchResultDto.created(index, ItemMapper.toItemDto(item, CommentPreview.EMPTY)));
+        });
+        return results;
     }
 
     @Override
@@ -56,58 +151,194 @@ public class ItemServiceImpl implements ItemService {
         }
 
         ItemMapper.updateItem(existingItem, itemDto);
-        log.info("Updating existing item: {}", existingItem);
-        return ItemMapper.toItemDto(itemRepository.save(existingItem));
+        log.info("Updating existing item: {}", itemId);
+        Item saved = itemRepository.save(existingItem);
+        itemSearchIndex.index(saved);
+        return ItemMapper.toItemDto(saved, commentPreviews.forItem(itemId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getById(Long itemId, Long userId) {
-        userService.getById(userId);
-        log.info("Getting item by id: {}", itemId);
-        return itemRepository.findById(itemId)
-                .map(ItemMapper::toItemDto)
+        existenceValidator.requireUser(userId);
+        return findItem(itemId, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemDto getIfModified(Long itemId, Long userId, Predicate<String> notModified) {
+        existenceValidator.requireUser(userId);
+        ItemVersion version = itemRepository.findVersionById(itemId, CommentPreviews.LATEST_COMMENTS)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found id - " + itemId));
+        if (!version.getOwnerId().equals(userId)) {
+            if (notModified.test(version.tag())) {
+                return null;
+            }
+            return findItem(itemId, userId);
+        }
+        // The owner also sees last and next bookings, which move with the clock rather than with writes.
+        // Roles are part of the tag: the same booking turns from next into last without any write. The tag
+        // and the body are built from the same lookup so that they describe the same bookings.
+        LocalDateTime now = LocalDateTime.now();
+        LastAndNext slots = lastAndNext(now,
+                bookingRepository.findLastAndNextByItemIds(List.of(itemId), now, Status.APPROVED));
+        if (notModified.test(version.tag() + "-L" + bookingId(slots.last()) + "-N" + bookingId(slots.next()))) {
+            return null;
+        }
+        log.debug(HOT_READ, "Getting item by id: {}", itemId);
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found id - " + itemId));
+        item.setLastBooking(slots.last());
+        item.setNextBooking(slots.next());
+        return ItemMapper.toItemDto(item, commentPreviews.forItem(itemId));
+    }
+
+    private ItemDto findItem(Long itemId, Long userId) {
+        log.debug(HOT_READ, "Getting item by id: {}", itemId);
+        Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found id - " + itemId));
+        if (!item.getOwner().getId().equals(userId)) {
+            return ItemMapper.toItemDto(item, commentPreviews.forItem(itemId));
+        }
+        return toOwnerItemDtos(List.of(item)).get(0);
+    }
+
+    private static String bookingId(Booking booking) {
+        return booking != null ? String.valueOf(booking.getId()) : "";
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllByUser(Long userId) {
-        log.info("Getting all items by user: {}", userId);
-        return itemRepository.findByOwnerId(userId).stream()
-                .map(ItemMapper::toItemDto)
+        log.debug(HOT_READ, "Getting all items by user: {}", userId);
+        return toOwnerItemDtos(itemRepository.findByOwnerId(userId));
+    }
+
+    @Override
+    public void streamAllByUser(Long userId, Consumer<ItemDto> consumer) {
+        log.debug(HOT_READ, "Streaming all items by user: {}", userId);
+        ScrollPosition position = ScrollPosition.keyset();
+        OwnerItemPage page;
+        do {
+            ScrollPosition from = position;
+            page = pageReader.read(() -> {
+                Window<Item> window = itemRepository.findFirst100ByOwnerIdOrderByIdAsc(userId, from);
+                return new OwnerItemPage(toOwnerItemDtos(window.getContent()),
+                        window.hasNext() ? window.positionAt(window.size() - 1) : null);
+            });
+            page.items().forEach(consumer);
+            position = page.next();
+        } while (position != null);
+    }
+
+    private record OwnerItemPage(List<ItemDto> items, ScrollPosition next) {
+    }
+
+    private List<ItemDto> toOwnerItemDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> itemsById = items.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, CommentPreview> comments = commentPreviews.forItems(itemsById.keySet());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository
+                .findLastAndNextByItemIds(itemsById.keySet(), now, Status.APPROVED).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        items.forEach(item -> {
+            LastAndNext slots = lastAndNext(now, bookingsByItem.getOrDefault(item.getId(), List.of()));
+            item.setLastBooking(slots.last());
+            item.setNextBooking(slots.next());
+        });
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemDto(item, comments.getOrDefault(item.getId(), CommentPreview.EMPTY)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Bookings of one item that have started are last, the rest next; the query returns at most one of each
+     * per item unless several share a start.
+     */
+    private static LastAndNext lastAndNext(LocalDateTime now, List<Booking> bookings) {
+        Booking last = null;
+        Booking next = null;
+        for (Booking booking : bookings) {
+            if (booking.getStart().isBefore(now)) {
+                if (last == null) {
+                    last = booking;
+                }
+            } else if (next == null) {
+                next = booking;
+            }
+        }
+        return new LastAndNext(last, next);
+    }
+
+    private record LastAndNext(Booking last, Booking next) {
+    }
+
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchItems(String text, int limit) {
         if (text == null || text.isBlank()) {
             return List.of();
         }
-        log.info("Searching for items with text {}", text);
-        return itemRepository.findByText(text)
-                .stream()
-                .map(ItemMapper::toItemDto)
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        log.debug(HOT_READ, "Searching for items with text {}", text);
+        List<Long> ids = itemSearchIndex.search(text, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> found = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, CommentPreview> comments = commentPreviews.forItems(found.keySet());
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(item -> ItemMapper.toItemDto(item, comments.getOrDefault(item.getId(), CommentPreview.EMPTY)))
                 .toList();
     }
 
     @Override
-    public CommentDto pastComment(CommentDto commentDto, Long userId, Long itemId) {
-        log.info("Posting comment to item: {}", commentDto);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found id - " + userId));
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found id - " + itemId));
-
-        List<Booking> findByBookerAndItem = bookingRepository.findByBookerIdAndItemId(user.getId(), item.getId());
-
-        boolean wasBooked = findByBookerAndItem.stream()
-                .anyMatch(booking -> booking.getEnd().isBefore(LocalDateTime.now()));
+    @Transactional(readOnly = true)
+    public CommentPageDto getComments(Long itemId, String cursor, Integer limit) {
+        log.debug(HOT_READ, "Getting comments of item: {}", itemId);
+        if (limit != null && (limit < 1 || limit > MAX_COMMENT_PAGE_SIZE)) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_COMMENT_PAGE_SIZE);
+        }
+        Window<Comment> comments = commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId,
+                COMMENT_CURSOR.decode(cursor), Limit.of(limit != null ? limit : DEFAULT_COMMENT_PAGE_SIZE));
+        if (comments.isEmpty()) {
+            existenceValidator.requireItem(itemId);
+        }
+        String nextCursor = null;
+        if (comments.hasNext() && !comments.isEmpty()) {
+            Comment last = comments.getContent().getLast();
+            nextCursor = COMMENT_CURSOR.encode(last.getCreated(), last.getId());
+        }
+        return new CommentPageDto(comments.stream().map(CommentMapper::toDto).toList(), nextCursor);
+    }
 
-        if (wasBooked) {
-            Comment saved = commentRepository.save(ItemMapper.toComment(commentDto, user, item));
-            return ItemMapper.toCommentDto(saved);
-        } else {
+    @Override
+    @Transactional
+    public CommentDto pastComment(CommentDto commentDto, Long userId, Long itemId) {
+        log.info("Posting comment to item {} by user {}", itemId, userId);
+        if (!commentEligibilityService.canComment(userId, itemId)) {
+            existenceValidator.requireUser(userId);
+            existenceValidator.requireItem(itemId);
             throw new ValidationException("User has not booked item");
         }
+        // A completed booking proves both rows exist. The row lock serialises concurrent comments on the count,
+        // which is excluded from optimistic locking; the managed update refreshes only this item's cache entry.
+        User user = userService.getEntityById(userId);
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found id - " + itemId));
+        Comment saved = commentRepository.save(ItemMapper.toComment(commentDto, user, item));
+        item.setCommentCount(item.getCommentCount() + 1);
+        return CommentMapper.toDto(saved);
     }
 
 }
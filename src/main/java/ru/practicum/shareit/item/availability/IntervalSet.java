@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Set of disjoint half-open [start, end) intervals kept merged in a sorted map.
+ */
+public class IntervalSet {
+    private final NavigableMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+    public synchronized void add(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        if (floor != null && !floor.getValue().isBefore(start)) {
+            start = floor.getKey();
+            end = max(end, floor.getValue());
+            intervals.remove(floor.getKey());
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next = intervals.ceilingEntry(start);
+        while (next != null && !next.getKey().isAfter(end)) {
+            end = max(end, next.getValue());
+            intervals.remove(next.getKey());
+            next = intervals.ceilingEntry(start);
+        }
+        intervals.put(start, end);
+    }
+
+    /**
+     * Returns the intervals intersecting [from, to), clipped to that range.
+     */
+    public synchronized List<IntervalDto> busy(LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> busy = new ArrayList<>();
+        LocalDateTime first = intervals.floorKey(from);
+        NavigableMap<LocalDateTime, LocalDateTime> candidates = intervals.subMap(first != null ? first : from, true,
+                to, false);
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : candidates.entrySet()) {
+            if (interval.getValue().isAfter(from)) {
+                busy.add(new IntervalDto(max(interval.getKey(), from), min(interval.getValue(), to)));
+            }
+        }
+        return busy;
+    }
+
+    public static List<IntervalDto> free(List<IntervalDto> busy, LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (IntervalDto interval : busy) {
+            if (interval.getStart().isAfter(cursor)) {
+                free.add(new IntervalDto(cursor, interval.getStart()));
+            }
+            cursor = max(cursor, interval.getEnd());
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new IntervalDto(cursor, to));
+        }
+        return free;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
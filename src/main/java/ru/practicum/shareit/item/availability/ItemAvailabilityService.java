@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.availability;
+
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.LocalDateTime;
+
+public interface ItemAvailabilityService {
+    AvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    void onBookingCreated(Booking booking);
+
+    void onBookingStatusChanged(Booking booking);
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exception.ResourceNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static ru.practicum.shareit.transaction.Transactions.afterCommit;
+
+/**
+ * Keeps merged busy intervals per item in a bounded LRU cache.
+ * New bookings are merged in after commit; a status change that frees time evicts the item.
+ * Entries hold bookings ending after the time they were loaded; windows reaching further back read the database.
+ * The cache only sees changes made through this instance, so entries are reloaded once {@code shareit.availability.ttl}
+ * milliseconds old: bookings written by another instance or outside this service show up within that time.
+ */
+@Slf4j
+@Service
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService {
+    private static final int MAX_CACHED_ITEMS = 10_000;
+    private static final int GENERATION_STRIPES = 1024;
+    private static final Set<Status> BUSY_STATUSES = EnumSet.of(Status.APPROVED, Status.WAITING);
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > MAX_CACHED_ITEMS;
+                }
+            });
+
+    /**
+     * Bumped, under the cache lock, by every committed change to an item's bookings. A load that saw a
+     * different generation before querying may have missed that change and is returned but not cached.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ItemAvailabilityServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository,
+                                       @Value("${shareit.availability.ttl:30000}") long ttlMillis) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    @Override
+    public AvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("From must be before to");
+        }
+        Entry entry = cache.get(itemId);
+        if (entry == null || System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+            entry = load(itemId, from);
+        }
+        IntervalSet intervals = from.isBefore(entry.since()) ? query(itemId, from) : entry.intervals();
+        List<IntervalDto> busy = intervals.busy(from, to);
+        return new AvailabilityDto(itemId, from, to, busy, IntervalSet.free(busy, from, to));
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        afterCommit(() -> {
+            synchronized (cache) {
+                generations.incrementAndGet(stripe(itemId));
+                Entry entry = cache.get(itemId);
+                if (entry != null) {
+                    entry.intervals().add(start, end);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onBookingStatusChanged(Booking booking) {
+        if (!BUSY_STATUSES.contains(booking.getStatus())) {
+            Long itemId = booking.getItem().getId();
+            afterCommit(() -> {
+                synchronized (cache) {
+                    generations.incrementAndGet(stripe(itemId));
+                    cache.remove(itemId);
+                }
+            });
+        }
+    }
+
+    private Entry load(Long itemId, LocalDateTime from) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item not found id - " + itemId);
+        }
+        log.debug("Loading availability for item: {}", itemId);
+        long generation = generations.get(stripe(itemId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = from.isBefore(now) ? from : now;
+        Entry entry = new Entry(query(itemId, since), since, System.nanoTime());
+        synchronized (cache) {
+            if (generations.get(stripe(itemId)) == generation) {
+                cache.put(itemId, entry);
+            }
+        }
+        return entry;
+    }
+
+    private IntervalSet query(Long itemId, LocalDateTime endAfter) {
+        IntervalSet intervals = new IntervalSet();
+        bookingRepository.findByItemIdAndStatusInAndEndAfter(itemId, BUSY_STATUSES, endAfter)
+                .forEach(booking -> intervals.add(booking.getStart(), booking.getEnd()));
+        return intervals;
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(itemId, GENERATION_STRIPES);
+    }
+
+    private record Entry(IntervalSet intervals, LocalDateTime since, long loadedAt) {
+    }
+}
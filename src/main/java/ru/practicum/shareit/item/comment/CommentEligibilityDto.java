@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentEligibilityDto {
+    private Long itemId;
+
+    private boolean eligible;
+}
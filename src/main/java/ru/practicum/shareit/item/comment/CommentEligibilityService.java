@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.comment;
+
+public interface CommentEligibilityService {
+    /**
+     * Whether the user has an approved booking of the item that has already ended.
+     */
+    boolean canComment(long userId, long itemId);
+
+    CommentEligibilityDto getEligibility(long userId, long itemId);
+}
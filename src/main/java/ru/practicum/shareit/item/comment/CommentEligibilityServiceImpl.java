@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.validation.ExistenceValidator;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.logging.LogMarkers.HOT_READ;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentEligibilityServiceImpl implements CommentEligibilityService {
+    private final BookingRepository bookingRepository;
+    private final ExistenceValidator existenceValidator;
+
+    @Override
+    public boolean canComment(long userId, long itemId) {
+        return bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId, Status.APPROVED,
+                LocalDateTime.now());
+    }
+
+    @Override
+    public CommentEligibilityDto getEligibility(long userId, long itemId) {
+        log.debug(HOT_READ, "Checking comment eligibility of user {} for item {}", userId, itemId);
+        boolean eligible = canComment(userId, itemId);
+        if (!eligible) {
+            existenceValidator.requireUser(userId);
+            existenceValidator.requireItem(itemId);
+        }
+        return new CommentEligibilityDto(itemId, eligible);
+    }
+}
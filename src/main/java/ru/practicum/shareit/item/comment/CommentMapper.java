@@ -4,8 +4,8 @@ public class CommentMapper {
     public static CommentDto toDto(Comment comment) {
         return new CommentDto(
                 comment.getId(),
-                comment.getAuthor().getName(),
                 comment.getText(),
+                comment.getAuthor().getName(),
                 comment.getCreated()
         );
     }
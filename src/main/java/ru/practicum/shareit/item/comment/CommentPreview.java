@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.comment;
+
+import java.util.List;
+
+/**
+ * What an item view shows of its comments: how many there are and the newest few.
+ */
+public record CommentPreview(long count, List<CommentDto> latest) {
+    public static final CommentPreview EMPTY = new CommentPreview(0, List.of());
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds comment previews for a page of items with a single query, however many comments each item has.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentPreviews {
+    public static final int LATEST_COMMENTS = 5;
+
+    private final CommentRepository commentRepository;
+
+    public Map<Long, CommentPreview> forItems(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, CommentPreview> previews = new HashMap<>();
+        for (LatestComment comment : commentRepository.findLatestByItemIds(itemIds, LATEST_COMMENTS)) {
+            previews.computeIfAbsent(comment.getItemId(),
+                            id -> new CommentPreview(comment.getTotal(), new ArrayList<>()))
+                    .latest()
+                    .add(new CommentDto(comment.getId(), comment.getText(), comment.getAuthorName(),
+                            comment.getCreated()));
+        }
+        return previews;
+    }
+
+    public CommentPreview forItem(long itemId) {
+        return forItems(List.of(itemId)).getOrDefault(itemId, CommentPreview.EMPTY);
+    }
+}
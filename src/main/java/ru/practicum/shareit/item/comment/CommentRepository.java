@@ -1,7 +1,23 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
+    Window<Comment> findByItemIdOrderByCreatedDescIdDesc(long itemId, ScrollPosition position, Limit limit);
+
+    /**
+     * Backed by the vendor's {@code META-INF/orm-*.xml} named native query: the newest {@code limit} comments
+     * of every item, each row carrying the item's maintained comment count.
+     */
+    List<LatestComment> findLatestByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the newest comments of an item together with the item's total comment count.
+ * A projection rather than a record: Spring Data reads named native queries as tuples and maps them by alias.
+ */
+public interface LatestComment {
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    Long getItemId();
+
+    Long getTotal();
+}
@@ -20,4 +20,6 @@ public class ItemCreateDto {
     private Boolean available;
 
     private Long ownerId;
+
+    private Long requestId;
 }
@@ -25,7 +25,11 @@ public class ItemDto {
 
     private List<CommentDto> comments;
 
+    private Long commentCount;
+
     private BookingDto lastBooking;
 
     private BookingDto nextBooking;
+
+    private Long requestId;
 }
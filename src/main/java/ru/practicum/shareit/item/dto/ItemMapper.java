@@ -1,34 +1,29 @@
 package ru.practicum.shareit.item.dto;
 
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
-import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentPreview;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 public class ItemMapper {
-    public static ItemDto toItemDto(Item item) {
-        List<CommentDto> commentDtos = item.getComments() != null
-                ? item.getComments().stream()
-                .map(CommentMapper::toDto)
-                .collect(Collectors.toList())
-                : List.of();
-
+    public static ItemDto toItemDto(Item item, CommentPreview comments) {
         return new ItemDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getAvailable(),
-                commentDtos,
-                null,
-                null
+                comments.latest(),
+                comments.count(),
+                item.getLastBooking() != null ? BookingMapper.toBookingDto(item.getLastBooking()) : null,
+                item.getNextBooking() != null ? BookingMapper.toBookingDto(item.getNextBooking()) : null,
+                item.getRequest() != null ? item.getRequest().getId() : null
         );
     }
 
-    public static Item toItem(ItemCreateDto dto, User owner) {
+    public static Item toItem(ItemCreateDto dto, User owner, ItemRequest request) {
         return new Item(
                 null,
                 dto.getName(),
@@ -36,6 +31,9 @@ public class ItemMapper {
                 dto.getAvailable(),
                 owner,
                 null,
+                0,
+                null,
+                request,
                 null,
                 null
         );
@@ -53,15 +51,6 @@ public class ItemMapper {
         }
     }
 
-    public static CommentDto toCommentDto(Comment comment) {
-        return new CommentDto(
-                comment.getId(),
-                comment.getText(),
-                comment.getAuthor().getName(),
-                comment.getCreated()
-        );
-    }
-
     public static Comment toComment(CommentDto dto, User author, Item item) {
         Comment comment = new Comment();
         comment.setText(dto.getText());
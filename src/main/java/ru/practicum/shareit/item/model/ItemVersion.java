@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * Owner of an item and the maintained values that change whenever the item or its comment preview does.
+ * A projection rather than a record: native queries are mapped by alias.
+ */
+public interface ItemVersion {
+    Long getOwnerId();
+
+    Long getVersion();
+
+    Long getCommentCount();
+
+    /**
+     * Sum of the versions of the authors of the previewed comments, so a rename shows up in the tag.
+     */
+    Long getAuthorsVersion();
+
+    default String tag() {
+        return getVersion() + "-" + getCommentCount() + "-" + getAuthorsVersion();
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.transaction.Transactions.afterCommit;
+
+/**
+ * In-memory trigram index over item name and description.
+ * Candidates are taken from the rarest trigram of the query and then verified by substring match,
+ * so results are the same as a case-insensitive contains search.
+ * Changes made inside a transaction are applied only after it commits, so a rollback leaves no trace.
+ * The index is built before the web server starts accepting requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private static final int NAME_EQUALS_SCORE = 4;
+    private static final int NAME_CONTAINS_SCORE = 2;
+    private static final int DESCRIPTION_CONTAINS_SCORE = 1;
+
+    private final ItemRepository itemRepository;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Index live = new Index();
+
+    /**
+     * The index a running {@link #rebuild} is loading, guarded by {@code this}. Changes committed meanwhile are
+     * applied to it as well and recorded in {@link #changedWhileBuilding}, so the rows the rebuild read for those
+     * items are skipped.
+     */
+    private Index building;
+
+    private final Set<Long> changedWhileBuilding = new HashSet<>();
+
+    /**
+     * Loads every item into a fresh index and swaps it in. Searches keep using the current index until then.
+     */
+    @PostConstruct
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            Index next = new Index();
+            synchronized (this) {
+                building = next;
+            }
+            List<Item> items = itemRepository.findAll();
+            synchronized (this) {
+                items.stream()
+                        .filter(item -> !changedWhileBuilding.contains(item.getId()))
+                        .forEach(item -> next.put(item.getId(), toDocument(item)));
+                live = next;
+                building = null;
+                changedWhileBuilding.clear();
+            }
+            log.info("Item search index built for {} items", next.documents.size());
+        }
+    }
+
+    /**
+     * Indexes the item as it is now; inside a transaction the change becomes visible after commit.
+     */
+    public void index(Item item) {
+        Long itemId = item.getId();
+        Document document = toDocument(item);
+        afterCommit(() -> put(itemId, document));
+    }
+
+    private synchronized void put(Long itemId, Document document) {
+        live.put(itemId, document);
+        if (building != null) {
+            building.put(itemId, document);
+            changedWhileBuilding.add(itemId);
+        }
+    }
+
+    /**
+     * Returns ids of available items containing the text, best matches first.
+     */
+    public List<Long> search(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Index index = live;
+        return index.candidates(query).stream()
+                .map(id -> new Hit(id, score(index.documents.get(id), query)))
+                .filter(hit -> hit.score() > 0)
+                .sorted(Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::id))
+                .limit(limit)
+                .map(Hit::id)
+                .toList();
+    }
+
+    private static Document toDocument(Item item) {
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        Set<String> grams = new HashSet<>(grams(name));
+        grams.addAll(grams(description));
+        return new Document(name, description, Boolean.TRUE.equals(item.getAvailable()), grams);
+    }
+
+    private static int score(Document document, String query) {
+        if (document == null || !document.available()) {
+            return 0;
+        }
+        int score = 0;
+        if (document.name().equals(query)) {
+            score += NAME_EQUALS_SCORE;
+        }
+        if (document.name().contains(query)) {
+            score += NAME_CONTAINS_SCORE;
+        }
+        if (document.description().contains(query)) {
+            score += DESCRIPTION_CONTAINS_SCORE;
+        }
+        return score;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(String name, String description, boolean available, Set<String> grams) {
+    }
+
+    private static class Index {
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        void put(Long itemId, Document document) {
+            delete(itemId);
+            documents.put(itemId, document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(itemId);
+            }
+        }
+
+        void delete(Long itemId) {
+            Document old = documents.remove(itemId);
+            if (old == null) {
+                return;
+            }
+            for (String gram : old.grams()) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(itemId);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        Collection<Long> candidates(String query) {
+            if (query.length() < GRAM) {
+                return documents.keySet();
+            }
+            Set<Long> rarest = null;
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                if (rarest == null || ids.size() < rarest.size()) {
+                    rarest = ids;
+                }
+            }
+            return List.copyOf(Objects.requireNonNull(rarest));
+        }
+    }
+
+    private record Hit(Long id, int score) {
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public class LogMarkers {
+    /**
+     * Frequent read-path events; {@link SamplingTurboFilter} keeps only a sample of them.
+     */
+    public static final Marker HOT_READ = MarkerFactory.getMarker("HOT_READ");
+}
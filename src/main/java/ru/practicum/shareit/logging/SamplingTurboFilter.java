@@ -0,0 +1,38 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in {@code rate} DEBUG events marked {@link LogMarkers#HOT_READ}, counted per logger so that
+ * a busy logger does not eat another one's samples. Sampled events are accepted even when the logger is
+ * set to INFO; other events are untouched.
+ */
+@Setter
+public class SamplingTurboFilter extends TurboFilter {
+    private int rate = 100;
+
+    private final Map<String, AtomicLong> events = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.HOT_READ) || !level.isGreaterOrEqual(Level.DEBUG)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format == null) {
+            // isDebugEnabled(HOT_READ) guard: let the caller through and sample the event itself
+            return FilterReply.ACCEPT;
+        }
+        long event = events.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return rate <= 1 || event % rate == 0 ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+}
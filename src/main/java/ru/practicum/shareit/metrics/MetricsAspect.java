@@ -0,0 +1,119 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every service method and records how many rows each repository method returned.
+ * Repository call timings themselves come from Spring Data's spring.data.repository.invocations.
+ * Meters are registered once per method and outcome and then reused, so a call does not look them up.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<SummaryKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Pointcut("execution(public * ru.practicum.shareit.user.UserService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.ItemService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.availability.ItemAvailabilityService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.comment.CommentEligibilityService.*(..))"
+            + " || execution(public * ru.practicum.shareit.booking.BookingService.*(..))"
+            + " || execution(public * ru.practicum.shareit.booking.event.BookingEventService.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.ItemRequestService.*(..))")
+    public void serviceMethods() {
+    }
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            sample.stop(timers.computeIfAbsent(new TimerKey(signature.getMethod(), exception),
+                    key -> Timer.builder("shareit.service.invocations")
+                            .description("Service method execution time")
+                            .tag("service", signature.getDeclaringType().getSimpleName())
+                            .tag("method", signature.getName())
+                            .tag("exception", key.exception())
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)));
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object countRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        Integer rows = rows(result);
+        if (rows != null) {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            summaries.computeIfAbsent(new SummaryKey(joinPoint.getThis().getClass(), signature.getMethod()),
+                            key -> DistributionSummary.builder("shareit.repository.rows")
+                                    .description("Rows returned per repository method call")
+                                    .tag("repository", repositoryName(joinPoint))
+                                    .tag("method", signature.getName())
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry))
+                    .record(rows);
+        }
+        return result;
+    }
+
+    private static Integer rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return null;
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        return Arrays.stream(joinPoint.getThis().getClass().getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .filter(type -> type.getName().startsWith("ru.practicum.shareit"))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    private record TimerKey(Method method, String exception) {
+    }
+
+    private record SummaryKey(Class<?> repository, Method method) {
+    }
+}
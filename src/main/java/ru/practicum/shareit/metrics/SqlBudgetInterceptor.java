@@ -0,0 +1,75 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each HTTP request issued and checks it against the request's budget.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final SqlBudgetProperties sqlBudgetProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<SummaryKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        String uri = uriPattern(request);
+        int statements = sqlStatementCounter.count();
+        sqlStatementCounter.clear();
+        summaries.computeIfAbsent(new SummaryKey(request.getMethod(), uri),
+                        key -> DistributionSummary.builder("shareit.http.sql.statements")
+                                .description("SQL statements issued per HTTP request")
+                                .tag("method", key.method())
+                                .tag("uri", key.uri())
+                                .publishPercentileHistogram()
+                                .register(meterRegistry))
+                .record(statements);
+
+        int budget = sqlBudgetProperties.budgetFor(request.getMethod(), uri);
+        if (statements > budget) {
+            log.warn("SQL budget exceeded: {} {} issued {} statements, budget {}",
+                    request.getMethod(), uri, statements, budget);
+            meterRegistry.counter("shareit.http.sql.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+        }
+    }
+
+    /**
+     * Streaming responses leave the servlet thread before afterCompletion runs, so the budget
+     * opened in preHandle must not linger on the pooled thread.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        sqlStatementCounter.clear();
+    }
+
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private record SummaryKey(String method, String uri) {
+    }
+}
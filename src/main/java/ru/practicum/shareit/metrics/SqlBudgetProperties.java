@@ -0,0 +1,27 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum number of SQL statements an HTTP request may issue.
+ * Endpoint budgets are keyed by the URI pattern, e.g. {@code shareit.sql-budget.endpoints.[/bookings]=5};
+ * a key prefixed with the HTTP method, e.g. {@code [POST /bookings]}, takes precedence for that method only.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql-budget")
+public class SqlBudgetProperties {
+    private int defaultBudget = 10;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String method, String uriPattern) {
+        Integer budget = endpoints.get(method + " " + uriPattern);
+        return budget != null ? budget : endpoints.getOrDefault(uriPattern, defaultBudget);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts SQL statements prepared by Hibernate on the current thread.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<Usage> usage = ThreadLocal.withInitial(Usage::new);
+
+    @Override
+    public String inspect(String sql) {
+        Usage current = usage.get();
+        current.count++;
+        if (current.captured != null) {
+            current.captured.add(sql);
+        }
+        return sql;
+    }
+
+    public void start() {
+        usage.get().count = 0;
+    }
+
+    public int count() {
+        return usage.get().count;
+    }
+
+    public void clear() {
+        usage.remove();
+    }
+
+    /**
+     * Runs the action and returns the SQL it prepared on the current thread, in order.
+     */
+    public List<String> capture(Runnable action) {
+        Usage current = usage.get();
+        List<String> outer = current.captured;
+        current.captured = new ArrayList<>();
+        try {
+            action.run();
+            return current.captured;
+        } finally {
+            current.captured = outer;
+        }
+    }
+
+    private static class Usage {
+        private int count;
+
+        private List<String> captured;
+    }
+}
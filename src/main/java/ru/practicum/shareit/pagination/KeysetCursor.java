@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor over (value, id) for lists ordered by one property with the id as tie-breaker. The
+ * next page's cursor travels in the {@link #NEXT_CURSOR_HEADER} response header.
+ *
+ * @param <T> type of the ordering property
+ */
+public final class KeysetCursor<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+    private final Function<String, T> parser;
+
+    /**
+     * @param property name of the ordering property in the scroll position
+     * @param parser   reads the property back from its {@code toString()} form, failing with an
+     *                 {@link IllegalArgumentException} or a {@link DateTimeException} on malformed input
+     */
+    public KeysetCursor(String property, Function<String, T> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String encode(T value, Long id) {
+        String raw = value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            T value = parser.apply(raw.substring(0, idx));
+            Long id = Long.valueOf(raw.substring(idx + 1));
+            return ScrollPosition.forward(Map.of(property, value, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+}
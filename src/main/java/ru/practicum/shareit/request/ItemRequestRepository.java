@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    List<ItemRequest> findByRequestorIdOrderByCreatedDescIdDesc(long requestorId);
+
+    Window<ItemRequest> findByRequestorIdNotOrderByCreatedDescIdDesc(long requestorId, ScrollPosition position,
+                                                                    Limit limit);
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto create(long userId, ItemRequestCreateDto dto);
+
+    List<ItemRequestDto> getOwn(long userId);
+
+    ItemRequestPageDto getOthers(long userId, String cursor, Integer limit);
+
+    ItemRequestDto getById(long requestId, long userId);
+}
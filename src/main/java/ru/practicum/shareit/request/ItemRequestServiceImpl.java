@@ -0,0 +1,118 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ResourceNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.ExistenceValidator;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.logging.LogMarkers.HOT_READ;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final KeysetCursor<LocalDateTime> CURSOR = new KeysetCursor<>("created", LocalDateTime::parse);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ExistenceValidator existenceValidator;
+
+    @Override
+    @Transactional
+    public ItemRequestDto create(long userId, ItemRequestCreateDto dto) {
+        User requestor = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        ItemRequest saved = itemRequestRepository.save(
+                ItemRequestMapper.toItemRequest(dto, requestor, LocalDateTime.now()));
+        log.info("Created item request {} for user {}", saved.getId(), userId);
+        return ItemRequestMapper.toItemRequestDto(saved, List.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOwn(long userId) {
+        log.debug(HOT_READ, "Get own item requests: {}", userId);
+        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(userId);
+        if (requests.isEmpty()) {
+            existenceValidator.requireUser(userId);
+        }
+        return toItemRequestDtos(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestPageDto getOthers(long userId, String cursor, Integer limit) {
+        log.debug(HOT_READ, "Get item requests of others: {}", userId);
+        existenceValidator.requireUser(userId);
+        ScrollPosition position = CURSOR.decode(cursor);
+        Window<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(
+                userId, position, toLimit(limit));
+        String nextCursor = null;
+        if (requests.hasNext() && !requests.isEmpty()) {
+            ItemRequest last = requests.getContent().getLast();
+            nextCursor = CURSOR.encode(last.getCreated(), last.getId());
+        }
+        return new ItemRequestPageDto(toItemRequestDtos(requests.getContent()), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestDto getById(long requestId, long userId) {
+        log.debug(HOT_READ, "Get item request: {}", requestId);
+        existenceValidator.requireUser(userId);
+        ItemRequest request = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
+        return toItemRequestDtos(List.of(request)).get(0);
+    }
+
+    /**
+     * Loads the answering items of the whole page with a single query.
+     */
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequest = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        itemsByRequest.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private Limit toLimit(Integer limit) {
+        if (limit == null) {
+            return Limit.of(DEFAULT_PAGE_SIZE);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(limit);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.request.dto;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ItemRequestMapper {
+    public static ItemRequestDto toItemRequestDto(ItemRequest request, List<Item> items) {
+        List<ItemAnswerDto> answers = items.stream()
+                .map(ItemRequestMapper::toItemAnswerDto)
+                .collect(Collectors.toList());
+        return new ItemRequestDto(
+                request.getId(),
+                request.getDescription(),
+                request.getCreated(),
+                answers
+        );
+    }
+
+    public static ItemAnswerDto toItemAnswerDto(Item item) {
+        return new ItemAnswerDto(
+                item.getId(),
+                item.getName(),
+                item.getOwner().getId()
+        );
+    }
+
+    public static ItemRequest toItemRequest(ItemRequestCreateDto dto, User requestor, LocalDateTime created) {
+        return new ItemRequest(
+                null,
+                dto.getDescription(),
+                requestor,
+                created
+        );
+    }
+}
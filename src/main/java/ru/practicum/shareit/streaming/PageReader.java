@@ -0,0 +1,25 @@
+package ru.practicum.shareit.streaming;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Reads each page of a streamed export in its own short read-only transaction. Between pages the download
+ * holds no connection, and entities of pages already written are no longer managed by any persistence context.
+ */
+@Component
+public class PageReader {
+    private final TransactionTemplate transactionTemplate;
+
+    public PageReader(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> T read(Supplier<T> page) {
+        return transactionTemplate.execute(status -> page.get());
+    }
+}
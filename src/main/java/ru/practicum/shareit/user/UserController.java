@@ -3,7 +3,12 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.streaming.NdjsonWriter;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -14,14 +19,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserServiceImpl userService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     public List<UserDto> getAllUsers() {
         return userService.getAll();
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ndjsonWriter.stream(userService::streamAll);
+    }
+
     @GetMapping("/{id}")
-    public UserDto getByUserId(@PathVariable long id) {
+    public UserDto getByUserId(@PathVariable long id, WebRequest request) {
+        String tag = userService.getVersionTag(id);
+        if (tag != null && request.checkNotModified(tag)) {
+            return null;
+        }
         return userService.getById(id);
     }
 
@@ -1,6 +1,10 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -11,7 +15,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAll();
 
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    Window<User> findFirst500ByOrderByIdAsc(ScrollPosition position);
 
     void deleteById(long id);
 
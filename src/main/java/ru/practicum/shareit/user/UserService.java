@@ -5,6 +5,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -13,8 +14,15 @@ public interface UserService {
 
     UserDto getById(Long userId);
 
+    /**
+     * Returns an entity tag for the user's representation, or null when the user does not exist.
+     */
+    String getVersionTag(Long userId);
+
     List<UserDto> getAll();
 
+    void streamAll(Consumer<UserDto> consumer);
+
     void delete(Long userId);
 
     User getEntityById(Long userId);
@@ -1,34 +1,37 @@
 package ru.practicum.shareit.user;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.support.WindowIterator;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.exception.EmailAlreadyExistsException;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ResourceNotFoundException;
+import ru.practicum.shareit.streaming.PageReader;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.logging.LogMarkers.HOT_READ;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final PageReader pageReader;
 
     @Override
     @Transactional
     public UserDto create(UserDto userDto) {
-        if (userRepository.findByEmail(userDto.getEmail()).isPresent()) {
-            throw new EmailAlreadyExistsException("Email already exists");
-        }
-        User user = UserMapper.toUser(userDto);
-        log.info("Creating user: {}", user);
-        return UserMapper.toUserDto(userRepository.save(user));
+        User saved = userRepository.save(UserMapper.toUser(userDto));
+        log.info("Created user: {}", saved.getId());
+        return UserMapper.toUserDto(saved);
     }
 
     @Override
@@ -37,36 +40,47 @@ public class UserServiceImpl implements UserService {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User is not found"));
 
-        String newEmail = userDto.getEmail();
-        if (newEmail != null && !newEmail.equals(existingUser.getEmail())) {
-            if (userRepository.findByEmail(newEmail).isPresent()) {
-                throw new EmailAlreadyExistsException("Email already exists");
-            }
-            existingUser.setEmail(newEmail);
+        if (userDto.getEmail() != null) {
+            existingUser.setEmail(userDto.getEmail());
         }
 
         if (userDto.getName() != null) {
             existingUser.setName(userDto.getName());
         }
 
-        return UserMapper.toUserDto(userRepository.save(existingUser));
+        return UserMapper.toUserDto(userRepository.saveAndFlush(existingUser));
     }
 
     @Override
     public UserDto getById(Long userId) {
-        log.info("Getting user: {}", userId);
+        log.debug(HOT_READ, "Getting user: {}", userId);
         return UserMapper.toUserDto(userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found")));
     }
 
+    @Override
+    public String getVersionTag(Long userId) {
+        return userRepository.findVersionById(userId)
+                .map(String::valueOf)
+                .orElse(null);
+    }
+
     @Override
     public List<UserDto> getAll() {
-        log.info("Getting all users");
+        log.debug(HOT_READ, "Getting all users");
         return userRepository.findAll().stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        log.debug(HOT_READ, "Streaming all users");
+        WindowIterator.of(position -> pageReader.read(() -> userRepository.findFirst500ByOrderByIdAsc(position)))
+                .startingAt(ScrollPosition.keyset())
+                .forEachRemaining(user -> consumer.accept(UserMapper.toUserDto(user)));
+    }
+
     @Override
     @Transactional
     public void delete(Long userId) {
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.validation;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ResourceNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Existence guards for request parameters. An entity already held in the second-level cache
+ * costs no round trip, otherwise a single exists query is issued instead of loading the row.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExistenceValidator {
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    public void requireUser(long userId) {
+        if (!isCached(User.class, userId) && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+    }
+
+    public void requireItem(long itemId) {
+        if (!isCached(Item.class, itemId) && !itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item not found id - " + itemId);
+        }
+    }
+
+    private boolean isCached(Class<?> type, long id) {
+        return entityManagerFactory.getCache().contains(type, id);
+    }
+}
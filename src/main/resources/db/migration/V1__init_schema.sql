@@ -32,4 +32,4 @@ CREATE TABLE IF NOT EXISTS comments (
                           created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                           CONSTRAINT fk_comment_author FOREIGN KEY (user_id) REFERENCES users (id),
                           CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,10 @@
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item ON bookings (booker_id, item_id, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_period ON bookings (item_id, start_time, end_time);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
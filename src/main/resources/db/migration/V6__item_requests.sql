@@ -0,0 +1,16 @@
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS item_requests (
+                       id BIGINT PRIMARY KEY,
+                       description TEXT NOT NULL,
+                       requestor_id BIGINT NOT NULL,
+                       created TIMESTAMP NOT NULL,
+                       CONSTRAINT fk_request_requestor FOREIGN KEY (requestor_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requestor_created ON item_requests (requestor_id, created DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC, id DESC);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES item_requests (id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_comments_item;
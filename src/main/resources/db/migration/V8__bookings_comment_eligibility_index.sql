@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_time);
+DROP INDEX IF EXISTS idx_bookings_booker_item;
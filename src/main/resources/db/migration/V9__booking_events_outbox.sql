@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS booking_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS booking_events (
+                       id BIGINT PRIMARY KEY,
+                       type VARCHAR(32) NOT NULL,
+                       booking_id BIGINT NOT NULL,
+                       item_id BIGINT NOT NULL,
+                       owner_id BIGINT NOT NULL,
+                       booker_id BIGINT NOT NULL,
+                       status VARCHAR(255) NOT NULL,
+                       start_time TIMESTAMP NOT NULL,
+                       end_time TIMESTAMP NOT NULL,
+                       created TIMESTAMP NOT NULL,
+                       published_at TIMESTAMP,
+                       publish_seq BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS booking_event_sequence (
+                       id INT PRIMARY KEY,
+                       last_seq BIGINT NOT NULL
+);
+
+INSERT INTO booking_event_sequence (id, last_seq) VALUES (1, 0);
+
+CREATE INDEX IF NOT EXISTS idx_booking_events_unpublished ON booking_events (published_at, id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_booking_events_owner_seq ON booking_events (owner_id, publish_seq);
@@ -0,0 +1,282 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.event.BookingEventRepository;
+import ru.practicum.shareit.booking.event.BookingEventSequence;
+import ru.practicum.shareit.booking.event.BookingEventSequenceRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.lang.reflect.Method;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every declared repository method, captures the SQL Hibernate prepares for it through the
+ * {@link SqlStatementCounter} statement inspector, and checks the H2 plan of each statement: the expected
+ * index must drive the query and no table may be scanned in full.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+    private static final long MISSING = Long.MAX_VALUE;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Set<Status> BUSY = EnumSet.of(Status.APPROVED, Status.WAITING);
+    private static final List<Long> IDS = List.of(1L, 2L);
+    private static final Limit PAGE = Limit.of(10);
+    private static final ScrollPosition FIRST = ScrollPosition.keyset();
+    private static final ScrollPosition BOOKING_AFTER = ScrollPosition.forward(Map.of("start", NOW, "id", 5L));
+    private static final List<Class<?>> REPOSITORIES = List.of(UserRepository.class, ItemRepository.class,
+            BookingRepository.class, CommentRepository.class, ItemRequestRepository.class,
+            BookingEventRepository.class, BookingEventSequenceRepository.class);
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private ItemRepository items;
+
+    @Autowired
+    private BookingRepository bookings;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private ItemRequestRepository requests;
+
+    @Autowired
+    private BookingEventRepository events;
+
+    @Autowired
+    private BookingEventSequenceRepository sequences;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> repositoryMethods() {
+        return Stream.of(
+                query("UserRepository.getById", t -> initialize(t.users.getById(MISSING)), ": ID = ?1"),
+                query("UserRepository.findAll", t -> t.users.findAll(), "USERS.tableScan"),
+                query("UserRepository.findVersionById", t -> t.users.findVersionById(1L), ": ID = ?1"),
+                query("UserRepository.findFirst500ByOrderByIdAsc", t -> t.users.findFirst500ByOrderByIdAsc(FIRST),
+                        "index sorted"),
+                query("UserRepository.deleteById", t -> t.users.deleteById(MISSING), ": ID = ?1"),
+                query("UserRepository.existsById", t -> t.users.existsById(1L), ": ID = ?1"),
+
+                query("ItemRepository.findByOwnerId", t -> t.items.findByOwnerId(1L), "IDX_ITEMS_OWNER: OWNER_ID = ?1"),
+                query("ItemRepository.findByRequestIdIn", t -> t.items.findByRequestIdIn(IDS),
+                        ": REQUEST_ID IN(?1, ?2)"),
+                query("ItemRepository.findFirst100ByOwnerIdOrderByIdAsc",
+                        t -> t.items.findFirst100ByOwnerIdOrderByIdAsc(1L, FIRST), "IDX_ITEMS_OWNER: OWNER_ID = ?1"),
+                query("ItemRepository.findVersionById", t -> t.items.findVersionById(1L, 5), ": ID = ?2",
+                        "ITEM_ID = I.ID", "FETCH FIRST ?1 ROWS ONLY"),
+                query("ItemRepository.findByIdForUpdate", t -> t.items.findByIdForUpdate(1L), ": ID = ?1"),
+                query("ItemRepository.findAllByIdForUpdate", t -> t.items.findAllByIdForUpdate(IDS), ": ID IN(?1, ?2)"),
+
+                query("BookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore",
+                        t -> t.bookings.existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 1L, Status.APPROVED, NOW),
+                        "IDX_BOOKINGS_BOOKER_ITEM_STATUS_END"),
+                query("BookingRepository.findByItemIdAndStatusInAndEndAfter",
+                        t -> t.bookings.findByItemIdAndStatusInAndEndAfter(1L, BUSY, NOW), ": ITEM_ID = ?1"),
+                query("BookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter",
+                        t -> t.bookings.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(1L, BUSY, NOW, NOW),
+                        "IDX_BOOKINGS_ITEM_PERIOD"),
+                query("BookingRepository.findByBookerIdOrderByStartDescIdDesc",
+                        t -> t.bookings.findByBookerIdOrderByStartDescIdDesc(1L, FIRST, PAGE), "BOOKER_ID = ?1"),
+                query("BookingRepository.findByBookerIdOrderByStartDescIdDesc (next page)",
+                        t -> t.bookings.findByBookerIdOrderByStartDescIdDesc(1L, BOOKING_AFTER, PAGE),
+                        "BOOKER_ID = ?1"),
+                query("BookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc",
+                        t -> t.bookings.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(1L, NOW, NOW,
+                                FIRST, PAGE), "BOOKER_ID = ?1"),
+                query("BookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc",
+                        t -> t.bookings.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(1L, NOW, FIRST, PAGE),
+                        "BOOKER_ID = ?1"),
+                query("BookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc",
+                        t -> t.bookings.findByBookerIdAndStartAfterOrderByStartDescIdDesc(1L, NOW, FIRST, PAGE),
+                        "BOOKER_ID = ?1"),
+                query("BookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc",
+                        t -> t.bookings.findByBookerIdAndStatusOrderByStartDescIdDesc(1L, Status.WAITING, FIRST,
+                                PAGE), "BOOKER_ID = ?1"),
+                query("BookingRepository.findByItemOwnerIdOrderByStartDescIdDesc",
+                        t -> t.bookings.findByItemOwnerIdOrderByStartDescIdDesc(1L, FIRST, PAGE),
+                        "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemOwnerIdOrderByStartDescIdDesc (next page)",
+                        t -> t.bookings.findByItemOwnerIdOrderByStartDescIdDesc(1L, BOOKING_AFTER, PAGE),
+                        "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc",
+                        t -> t.bookings.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(1L, NOW,
+                                NOW, FIRST, PAGE), "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc",
+                        t -> t.bookings.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(1L, NOW, FIRST, PAGE),
+                        "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc",
+                        t -> t.bookings.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(1L, NOW, FIRST, PAGE),
+                        "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc",
+                        t -> t.bookings.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(1L, Status.WAITING, FIRST,
+                                PAGE), "IDX_ITEMS_OWNER: OWNER_ID = ?1", "ITEM_ID = I1_0.ID"),
+                query("BookingRepository.findByItemIdInAndStatusInAndEndAfter",
+                        t -> t.bookings.findByItemIdInAndStatusInAndEndAfter(IDS, BUSY, NOW), ": ITEM_ID IN(?1, ?2)"),
+                query("BookingRepository.updateStatus",
+                        t -> t.bookings.updateStatus(1L, 1L, Status.WAITING, Status.APPROVED),
+                        "IDX_ITEMS_OWNER: OWNER_ID = ?4"),
+                query("BookingRepository.findVersionById", t -> t.bookings.findVersionById(1L, 1L, 5),
+                        ": ID = ?2", "ITEM_ID = I.ID", "FETCH FIRST ?1 ROWS ONLY"),
+                query("BookingRepository.findLastAndNextByItemIds",
+                        t -> t.bookings.findLastAndNextByItemIds(IDS, NOW, Status.APPROVED),
+                        ": ITEM_ID IN(?1, ?2)", "IDX_BOOKINGS_ITEM_PERIOD"),
+
+                query("CommentRepository.findByItemIdOrderByCreatedDescIdDesc",
+                        t -> t.comments.findByItemIdOrderByCreatedDescIdDesc(1L, FIRST, PAGE), ": ITEM_ID = ?1"),
+                query("CommentRepository.findLatestByItemIds", t -> t.comments.findLatestByItemIds(IDS, 5),
+                        ": ID IN(?2, ?3)", "IDX_COMMENTS_ITEM_CREATED: ITEM_ID = I.ID", "FETCH FIRST ?1 ROWS ONLY"),
+
+                query("ItemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc",
+                        t -> t.requests.findByRequestorIdOrderByCreatedDescIdDesc(1L), ": REQUESTOR_ID = ?1"),
+                query("ItemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc",
+                        t -> t.requests.findByRequestorIdNotOrderByCreatedDescIdDesc(1L, FIRST, PAGE),
+                        "IDX_ITEM_REQUESTS_CREATED", "index sorted"),
+
+                query("BookingEventRepository.findTop100ByPublishedAtIsNullOrderByIdAsc",
+                        t -> t.events.findTop100ByPublishedAtIsNullOrderByIdAsc(),
+                        "IDX_BOOKING_EVENTS_UNPUBLISHED: PUBLISHED_AT IS NULL"),
+                query("BookingEventRepository.findByOwnerIdAndPublishSeqGreaterThanOrderByPublishSeqAsc",
+                        t -> t.events.findByOwnerIdAndPublishSeqGreaterThanOrderByPublishSeqAsc(1L, 0L, PAGE),
+                        "IDX_BOOKING_EVENTS_OWNER_SEQ: OWNER_ID = ?1 AND PUBLISH_SEQ > ?2"),
+                query("BookingEventRepository.deletePublishedBefore", t -> t.events.deletePublishedBefore(NOW),
+                        "IDX_BOOKING_EVENTS_UNPUBLISHED: PUBLISHED_AT < ?1"),
+
+                query("BookingEventSequenceRepository.findByIdForUpdate",
+                        t -> t.sequences.findByIdForUpdate(BookingEventSequence.ID), ": ID = ?1")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryMethods")
+    void repositoryMethodUsesIndexes(String method, RepositoryCall call, String... expected) {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        List<String> statements = sqlStatementCounter.capture(() -> call.run(this));
+        assertFalse(statements.isEmpty(), () -> method + " issued no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql).replaceAll("\\s+", " ");
+            for (String fragment : expected) {
+                assertTrue(plan.contains(fragment), () -> method + " does not use " + fragment + ": " + plan);
+            }
+            if (Arrays.stream(expected).noneMatch(fragment -> fragment.endsWith(".tableScan"))) {
+                assertFalse(plan.contains("tableScan"), () -> method + " scans a whole table: " + plan);
+            }
+        }
+    }
+
+    @Test
+    void everyRepositoryMethodIsCovered() {
+        Set<String> covered = repositoryMethods()
+                .map(arguments -> ((String) arguments.get()[0]).split(" ")[0])
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(declared, covered);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, sample(parameters.getParameterType(i)));
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    private static Object sample(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> 1L;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> Timestamp.valueOf(NOW);
+            case Types.BOOLEAN -> true;
+            default -> "WAITING";
+        };
+    }
+
+    /**
+     * {@code getById} hands back an uninitialized reference; loading it is what reaches the database.
+     */
+    private static void initialize(Optional<User> reference) {
+        try {
+            reference.map(User::getEmail);
+        } catch (EntityNotFoundException ignored) {
+            // nothing has this id, only the statement matters here
+        }
+    }
+
+    /**
+     * Expected fragments of the H2 plan, whitespace collapsed; a {@code TABLE.tableScan} fragment marks a
+     * method that reads the whole table by design.
+     */
+    private static Arguments query(String method, RepositoryCall call, String... expected) {
+        return Arguments.of(method, call, expected);
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanTest test);
+    }
+}
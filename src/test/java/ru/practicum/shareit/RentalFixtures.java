@@ -0,0 +1,53 @@
+package ru.practicum.shareit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sets up an owner with an item and a user to book it. Picked up by the application's component scan, so every
+ * test context has one. Emails are numbered per JVM because the test contexts share one in-memory database.
+ */
+@Component
+public class RentalFixtures {
+    private static final AtomicLong RENTALS = new AtomicLong();
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RentalFixtures(UserService userService, ItemService itemService, JdbcTemplate jdbcTemplate) {
+        this.userService = userService;
+        this.itemService = itemService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Rental rental() {
+        long number = RENTALS.incrementAndGet();
+        long owner = userService.create(new UserDto(null, "owner", "rental" + number + "-owner@mail.ru")).getId();
+        long booker = userService.create(new UserDto(null, "booker", "rental" + number + "-booker@mail.ru")).getId();
+        long item = itemService.create(owner, new ItemCreateDto("Drill", "Cordless drill", true, null, null)).getId();
+        return new Rental(owner, booker, item);
+    }
+
+    /**
+     * Inserts a booking of the rental's item by its booker straight into the table, so that it can lie in the
+     * past or carry any status without going through the booking workflow.
+     */
+    public long book(Rental rental, LocalDateTime start, LocalDateTime end, Status status) {
+        jdbcTemplate.update("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", start, end, rental.item(), rental.booker(), status.name());
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings WHERE item_id = ?", Long.class,
+                rental.item());
+    }
+
+    public record Rental(long owner, long booker, long item) {
+    }
+}
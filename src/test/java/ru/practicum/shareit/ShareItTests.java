@@ -1,15 +1,214 @@
 package ru.practicum.shareit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.metrics.SqlBudgetProperties;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every controller path once and checks how many SQL statements each request issued: the exact count
+ * pins the query shape of the endpoint, and the count must also fit the budget configured for it.
+ * Each controller has its own test and fixture, so one endpoint's mismatch does not hide another's.
+ */
 @ActiveProfiles("test")
 @SpringBootTest
+@AutoConfigureMockMvc
 class ShareItTests {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String SEQUENCE_FETCH = "select next value for ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private SqlBudgetProperties sqlBudgetProperties;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
 
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void userEndpointsIssueExpectedStatements() throws Exception {
+        long owner = id(perform(post("/users"), "{\"name\":\"owner\",\"email\":\"users-owner@mail.ru\"}", 1));
+        long removed = id(perform(post("/users"), "{\"name\":\"removed\",\"email\":\"users-removed@mail.ru\"}", 1));
+        perform(get("/users"), null, 1);
+        perform(get("/users/{id}", owner), null, 1);
+        perform(patch("/users/{id}", owner), "{\"name\":\"owner2\"}", 1);
+        perform(delete("/users/{id}", removed), null, 2);
+    }
+
+    @Test
+    void itemRequestEndpointsIssueExpectedStatements() throws Exception {
+        long owner = user("requests-owner");
+        long requestor = user("requests-requestor");
+        long request = id(perform(post("/requests").header(USER_HEADER, requestor),
+                "{\"description\":\"Need a drill\"}", 1));
+        item(owner, request);
+        perform(get("/requests").header(USER_HEADER, requestor), null, 2);
+        perform(get("/requests/all").param("limit", "10").header(USER_HEADER, owner), null, 2);
+        perform(get("/requests/{id}", request).header(USER_HEADER, owner), null, 2);
+    }
+
+    @Test
+    void itemEndpointsIssueExpectedStatements() throws Exception {
+        long owner = user("items-owner");
+        long booker = user("items-booker");
+        long request = itemRequestService.create(booker, new ItemRequestCreateDto("Need a drill")).getId();
+        long item = id(perform(post("/items").header(USER_HEADER, owner), String.format(
+                "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true,\"requestId\":%d}",
+                request), 2));
+        perform(patch("/items/{id}", item).header(USER_HEADER, owner), "{\"description\":\"Cordless drill 18V\"}", 2);
+        perform(post("/items/batch").header(USER_HEADER, owner),
+                "[{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true},{\"name\":\"\"}]", 1);
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, 'APPROVED')", now.minusDays(2), now.minusDays(1), item, booker);
+        jdbcTemplate.update("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, 'APPROVED')", now.plusDays(1), now.plusDays(2), item, booker);
+        perform(get("/items/{id}/comment/eligibility", item).header(USER_HEADER, booker), null, 1);
+        perform(post("/items/{id}/comment", item).header(USER_HEADER, booker), "{\"text\":\"Great drill\"}", 4);
+
+        assertVariesByUser(perform(get("/items/{id}", item).header(USER_HEADER, owner), null, 3),
+                get("/items/{id}", item).header(USER_HEADER, owner));
+        perform(get("/items/{id}", item).header(USER_HEADER, booker), null, 2);
+        perform(get("/items").header(USER_HEADER, owner), null, 3);
+        perform(get("/items/search").param("text", "drill"), null, 2);
+        perform(get("/items/search").param("text", "nothing-matches"), null, 0);
+        perform(get("/items/{id}/comments", item).param("limit", "10"), null, 1);
+        perform(get("/items/{id}/availability", item)
+                .param("from", now.toString())
+                .param("to", now.plusDays(7).toString()), null, 2);
+    }
+
+    @Test
+    void bookingEndpointsIssueExpectedStatements() throws Exception {
+        long owner = user("bookings-owner");
+        long booker = user("bookings-booker");
+        long item = item(owner, null);
+        LocalDateTime now = LocalDateTime.now();
+
+        String booking = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                item, now.plusDays(1), now.plusDays(2));
+        long bookingId = id(perform(post("/bookings").header(USER_HEADER, booker), booking, 5));
+        String laterBooking = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                item, now.plusDays(3), now.plusDays(4));
+        perform(post("/bookings/batch").header(USER_HEADER, booker), "[" + booking + "," + laterBooking + "]", 5);
+        perform(patch("/bookings/{id}", bookingId).param("approved", "true").header(USER_HEADER, owner), null, 4);
+        perform(patch("/bookings/{id}", bookingId).param("approved", "true").header(USER_HEADER, owner)
+                .header("Idempotency-Key", "approve-" + bookingId), null, 3);
+        assertVariesByUser(perform(get("/bookings/{id}", bookingId).header(USER_HEADER, booker), null, 3),
+                get("/bookings/{id}", bookingId).header(USER_HEADER, booker));
+        perform(get("/bookings").param("state", "ALL").header(USER_HEADER, booker), null, 2);
+        perform(get("/bookings").param("state", "FUTURE").param("limit", "1").header(USER_HEADER, booker), null, 2);
+        perform(get("/bookings/owner").param("state", "ALL").header(USER_HEADER, owner), null, 2);
+    }
+
+    @Test
+    void bookingEventEndpointsIssueExpectedStatements() throws Exception {
+        long owner = user("events-owner");
+        perform(get("/bookings/owner/events").header(USER_HEADER, owner).header("Last-Event-ID", 0), null, 1);
+        perform(get("/bookings/owner/stream").param("overflow", "DROP_OLDEST").header(USER_HEADER, owner), null, 0);
+    }
+
+    /**
+     * Sequence fetches are left out of the exact count: pooled ids make them depend on earlier requests.
+     */
+    private MvcResult perform(MockHttpServletRequestBuilder request, String body, int statements) {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        AtomicReference<MvcResult> result = new AtomicReference<>();
+        List<String> sql = sqlStatementCounter.capture(() -> result.set(execute(request)));
+        MockHttpServletRequest sent = result.get().getRequest();
+        String pattern = (String) sent.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = sent.getMethod() + " " + pattern;
+        List<String> queries = sql.stream().filter(statement -> !statement.startsWith(SEQUENCE_FETCH)).toList();
+        assertEquals(statements, queries.size(), () -> endpoint + " issued " + queries);
+        int budget = sqlBudgetProperties.budgetFor(sent.getMethod(), pattern);
+        assertTrue(sql.size() <= budget, () -> endpoint + " exceeds its budget of " + budget + ": " + sql);
+        return result.get();
+    }
+
+    /**
+     * The body depends on the caller, so both the response and a revalidation against its ETag must say so.
+     */
+    private void assertVariesByUser(MvcResult result, MockHttpServletRequestBuilder revalidation) throws Exception {
+        assertEquals(USER_HEADER, result.getResponse().getHeader(HttpHeaders.VARY));
+        String tag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(revalidation.header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, USER_HEADER));
+    }
+
+    private MvcResult execute(MockHttpServletRequestBuilder request) {
+        try {
+            return mockMvc.perform(request)
+                    .andExpect(status().is2xxSuccessful())
+                    .andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long user(String name) {
+        return userService.create(new UserDto(null, name, name + "@mail.ru")).getId();
+    }
+
+    private long item(long owner, Long requestId) {
+        return itemService.create(owner, new ItemCreateDto("Drill", "Cordless drill", true, null, requestId)).getId();
+    }
+
+    private long id(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
 }
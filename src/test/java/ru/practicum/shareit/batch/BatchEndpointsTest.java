@@ -0,0 +1,119 @@
+package ru.practicum.shareit.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk endpoints answer per element: a rejected element carries its own status and reason, and never stops
+ * the elements around it from being created.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchEndpointsTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void invalidItemDoesNotAbortOthers() throws Exception {
+        long owner = userService.create(new UserDto(null, "owner", "items-batch-owner@mail.ru")).getId();
+
+        mockMvc.perform(post("/items/batch").header(USER_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"name":"Saw","description":"Hand saw","available":true},
+                                 {"name":"","description":"Nameless","available":true},
+                                 null,
+                                 {"name":"Drill","description":"Cordless drill","available":true}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].result.name").value("Saw"))
+                .andExpect(jsonPath("$[0].error").value(nullValue()))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].result").value(nullValue()))
+                .andExpect(jsonPath("$[1].error").value("name must not be blank"))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[2].error").value("Item must not be null"))
+                .andExpect(jsonPath("$[3].index").value(3))
+                .andExpect(jsonPath("$[3].status").value(201))
+                .andExpect(jsonPath("$[3].result.name").value("Drill"));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items WHERE owner_id = ?",
+                Integer.class, owner));
+    }
+
+    @Test
+    void overlappingBookingIsRejectedWhileLaterOneIsCreated() throws Exception {
+        long owner = userService.create(new UserDto(null, "owner", "bookings-batch-owner@mail.ru")).getId();
+        long booker = userService.create(new UserDto(null, "booker", "bookings-batch-booker@mail.ru")).getId();
+        long item = itemService.create(owner, new ItemCreateDto("Drill", "Cordless drill", true, null, null)).getId();
+        LocalDateTime now = LocalDateTime.now().withSecond(30).withNano(0);
+        bookingService.createBooking(new BookingDto(null, now.plusDays(1), now.plusDays(2), item, booker, null));
+
+        String overlapping = booking(item, now.plusDays(1).plusHours(12), now.plusDays(3));
+        String later = booking(item, now.plusDays(4), now.plusDays(5));
+        String clashesWithLater = booking(item, now.plusDays(4).plusHours(1), now.plusDays(6));
+        String missingItem = booking(Long.MAX_VALUE, now.plusDays(7), now.plusDays(8));
+        mockMvc.perform(post("/bookings/batch").header(USER_HEADER, booker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", overlapping, later, clashesWithLater, missingItem) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].error").value("Item is already booked for these dates"))
+                .andExpect(jsonPath("$[0].result").value(nullValue()))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(201))
+                .andExpect(jsonPath("$[1].result.start").value(now.plusDays(4).toString()))
+                .andExpect(jsonPath("$[1].result.status").value("WAITING"))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[2].error").value("Item is already booked for these dates"))
+                .andExpect(jsonPath("$[3].status").value(404))
+                .andExpect(jsonPath("$[3].error").value("Item not found"));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE item_id = ?",
+                Integer.class, item));
+    }
+
+    private static String booking(long item, LocalDateTime start, LocalDateTime end) {
+        return String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", item, start, end);
+    }
+}
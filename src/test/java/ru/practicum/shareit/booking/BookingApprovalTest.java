@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.RentalFixtures;
+import ru.practicum.shareit.RentalFixtures.Rental;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Approval is a conditional status update: repeating a decision answers with the current booking without
+ * writing again, and an Idempotency-Key is bound to the decision it was first used for.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingApprovalTest {
+    private static final int OWNER_CLICKS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RentalFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void repeatedApprovalWritesOnce() {
+        Fixture fixture = fixture();
+
+        BookingDtoResponse first = bookingService.approveBooking(fixture.booking(), fixture.owner(), true);
+        BookingDtoResponse replay = bookingService.approveBooking(fixture.booking(), fixture.owner(), true);
+
+        assertEquals(Status.APPROVED, first.getStatus());
+        assertEquals(Status.APPROVED, replay.getStatus());
+        assertEquals(1, writes(fixture.booking()));
+        assertEquals(1, statusChanges(fixture.booking()));
+    }
+
+    @Test
+    void concurrentApprovalsWriteOnce() throws Exception {
+        Fixture fixture = fixture();
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingDtoResponse>> clicks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(OWNER_CLICKS)) {
+            for (int i = 0; i < OWNER_CLICKS; i++) {
+                clicks.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.approveBooking(fixture.booking(), fixture.owner(), true);
+                }));
+            }
+            ready.countDown();
+        }
+
+        for (Future<BookingDtoResponse> click : clicks) {
+            assertEquals(Status.APPROVED, click.get().getStatus());
+        }
+        assertEquals(1, writes(fixture.booking()));
+        assertEquals(1, statusChanges(fixture.booking()));
+    }
+
+    @Test
+    void contradictingDecisionIsRejected() {
+        Fixture fixture = fixture();
+        bookingService.approveBooking(fixture.booking(), fixture.owner(), true);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(fixture.booking(), fixture.owner(), false));
+        assertEquals("Booking is already APPROVED", e.getMessage());
+        assertEquals(1, writes(fixture.booking()));
+    }
+
+    @Test
+    void idempotencyKeyReplaysDecisionAndRejectsDifferentOne() throws Exception {
+        Fixture fixture = fixture();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/bookings/{id}", fixture.booking()).param("approved", "true")
+                            .header("X-Sharer-User-Id", fixture.owner())
+                            .header(BookingController.IDEMPOTENCY_KEY_HEADER, "decide-once"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("APPROVED"));
+        }
+        mockMvc.perform(patch("/bookings/{id}", fixture.booking()).param("approved", "false")
+                        .header("X-Sharer-User-Id", fixture.owner())
+                        .header(BookingController.IDEMPOTENCY_KEY_HEADER, "decide-once"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Idempotency key was already used for a different request"));
+
+        assertEquals(Status.APPROVED, bookingRepository.findById(fixture.booking()).orElseThrow().getStatus());
+        assertEquals(1, writes(fixture.booking()));
+    }
+
+    /**
+     * A waiting booking of the rental's item, requested through the service.
+     */
+    private Fixture fixture() {
+        Rental rental = fixtures.rental();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long booking = bookingService.createBooking(
+                new BookingDto(null, start, start.plusDays(1), rental.item(), rental.booker(), null)).getId();
+        return new Fixture(rental.owner(), booking);
+    }
+
+    /**
+     * Every status update bumps the version by one, so the version counts the writes since creation.
+     */
+    private long writes(long booking) {
+        return bookingRepository.findById(booking).orElseThrow().getVersion();
+    }
+
+    private int statusChanges(long booking) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_events WHERE booking_id = ? AND type = ?",
+                Integer.class, booking, "STATUS_CHANGED");
+    }
+
+    private record Fixture(long owner, long booking) {
+    }
+}
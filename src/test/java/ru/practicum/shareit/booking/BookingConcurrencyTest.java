@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Overlap checks run under the item row lock, so concurrent requests for the same dates cannot both pass.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int BOOKERS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void concurrentOverlappingBookingsAcceptOnlyOne() throws Exception {
+        long owner = userService.create(new UserDto(null, "owner", "concurrency-owner@mail.ru")).getId();
+        long item = itemService.create(owner, new ItemCreateDto("Drill", "Cordless drill", true, null, null)).getId();
+        List<Long> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userService.create(new UserDto(null, "booker" + i, "concurrency-booker" + i + "@mail.ru"))
+                    .getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(BOOKERS)) {
+            for (int i = 0; i < BOOKERS; i++) {
+                LocalDateTime from = start.plusHours(i % 2);
+                long booker = bookers.get(i);
+                attempts.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.createBooking(
+                            new BookingDto(null, from, from.plusHours(3), item, booker, null));
+                }));
+            }
+            ready.countDown();
+        }
+
+        int accepted = 0;
+        int rejected = 0;
+        for (Future<?> attempt : attempts) {
+            try {
+                attempt.get();
+                accepted++;
+            } catch (ExecutionException e) {
+                assertEquals(ValidationException.class, e.getCause().getClass());
+                rejected++;
+            }
+        }
+        assertEquals(1, accepted);
+        assertEquals(BOOKERS - 1, rejected);
+    }
+
+    @Test
+    void adjacentBookingIsNotAnOverlap() {
+        long owner = userService.create(new UserDto(null, "owner", "adjacent-owner@mail.ru")).getId();
+        long booker = userService.create(new UserDto(null, "booker", "adjacent-booker@mail.ru")).getId();
+        long item = itemService.create(owner, new ItemCreateDto("Saw", "Hand saw", true, null, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        bookingService.createBooking(new BookingDto(null, start, start.plusHours(2), item, booker, null));
+        bookingService.createBooking(new BookingDto(null, start.plusHours(2), start.plusHours(4), item, booker, null));
+        assertThrows(ValidationException.class, () -> bookingService.createBooking(
+                new BookingDto(null, start.plusHours(1), start.plusHours(3), item, booker, null)));
+    }
+}
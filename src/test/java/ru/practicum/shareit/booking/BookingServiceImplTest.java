@@ -0,0 +1,164 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class BookingServiceImplTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bookingListsUseConstantNumberOfStatements() {
+        User owner = persistUser("owner", "owner@mail.ru");
+        User smallBooker = persistUser("small", "small@mail.ru");
+        User largeBooker = persistUser("large", "large@mail.ru");
+        persistBookings(owner, smallBooker, 1);
+        persistBookings(owner, largeBooker, 30);
+        entityManager.flush();
+
+        long small = countStatements(() -> bookingService.getBookings(smallBooker.getId(), State.ALL, null, null));
+        long large = countStatements(() -> bookingService.getBookings(largeBooker.getId(), State.ALL, null, null));
+        assertEquals(small, large);
+
+        long ownerPage = countStatements(() ->
+                bookingService.getCurrentUserBookings(owner.getId(), State.ALL, null, 20));
+        assertEquals(small, ownerPage);
+    }
+
+    @Test
+    void bookingListsWithoutLimitReturnDefaultPageAndCursor() {
+        User owner = persistUser("owner", "owner@mail.ru");
+        User booker = persistUser("booker", "booker@mail.ru");
+        persistBookings(owner, booker, 30);
+        entityManager.flush();
+        entityManager.clear();
+
+        BookingPageDto first = bookingService.getBookings(booker.getId(), State.ALL, null, null);
+        assertEquals(20, first.getBookings().size());
+        assertNotNull(first.getNextCursor());
+
+        BookingPageDto rest = bookingService.getBookings(booker.getId(), State.ALL, first.getNextCursor(), null);
+        assertEquals(10, rest.getBookings().size());
+        assertNull(rest.getNextCursor());
+    }
+
+    /**
+     * Bookings of one booker on two items of one owner, newest start first and ties broken by id; another
+     * owner's item booked by another user must show up in neither list.
+     */
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void bookingListsFilterAndOrderByState(State state) {
+        User owner = persistUser("owner", "owner@mail.ru");
+        User booker = persistUser("booker", "booker@mail.ru");
+        User otherOwner = persistUser("other owner", "other-owner@mail.ru");
+        User otherBooker = persistUser("other booker", "other-booker@mail.ru");
+        Item drill = persistItem(owner, "drill");
+        Item saw = persistItem(owner, "saw");
+        Item ladder = persistItem(otherOwner, "ladder");
+        LocalDateTime now = LocalDateTime.now();
+
+        long past = persistBooking(drill, booker, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        long pastRejected = persistBooking(saw, booker, now.minusDays(2), now.minusDays(1), Status.REJECTED);
+        long current = persistBooking(drill, booker, now.minusHours(1), now.plusHours(1), Status.APPROVED);
+        long future = persistBooking(saw, booker, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        long futureTie = persistBooking(drill, booker, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        long later = persistBooking(drill, booker, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        long laterRejected = persistBooking(saw, booker, now.plusDays(3), now.plusDays(4), Status.REJECTED);
+        for (Status status : Status.values()) {
+            persistBooking(ladder, otherBooker, now.minusHours(1), now.plusHours(1), status);
+            persistBooking(ladder, otherBooker, now.minusDays(2), now.minusDays(1), status);
+            persistBooking(ladder, otherBooker, now.plusDays(1), now.plusDays(2), status);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<State, List<Long>> expected = Map.of(
+                State.ALL, List.of(laterRejected, later, futureTie, future, current, pastRejected, past),
+                State.CURRENT, List.of(current),
+                State.PAST, List.of(pastRejected, past),
+                State.FUTURE, List.of(laterRejected, later, futureTie, future),
+                State.WAITING, List.of(futureTie, future),
+                State.REJECTED, List.of(laterRejected, pastRejected));
+        assertEquals(expected.get(state), ids(bookingService.getBookings(booker.getId(), state, null, null)));
+        assertEquals(expected.get(state),
+                ids(bookingService.getCurrentUserBookings(owner.getId(), state, null, null)));
+    }
+
+    private static List<Long> ids(BookingPageDto page) {
+        return page.getBookings().stream().map(BookingDtoResponse::getId).toList();
+    }
+
+    private long countStatements(Runnable call) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User(null, name, email, null);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Item persistItem(User owner, String name) {
+        Item item = new Item(null, name, "description", true, owner, null, 0, null, null, null, null);
+        entityManager.persist(item);
+        return item;
+    }
+
+    private long persistBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        Booking booking = new Booking(null, start, end, item, booker, status, null);
+        entityManager.persist(booking);
+        return booking.getId();
+    }
+
+    private void persistBookings(User owner, User booker, int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(count + 1);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item(null, "item" + i, "description", true, owner, null, 0, null, null, null, null);
+            entityManager.persist(item);
+            for (int j = 0; j < 2; j++) {
+                Comment comment = new Comment(null, "comment" + j, booker, item, null);
+                entityManager.persist(comment);
+            }
+            Booking booking = new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1), item, booker,
+                    Status.APPROVED, null);
+            entityManager.persist(booking);
+        }
+    }
+}
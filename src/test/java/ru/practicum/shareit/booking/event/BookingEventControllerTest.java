@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The live booking stream has no replay, so it only offers overflow policies that keep the stream open.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingEventControllerTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void liveStreamRejectsDisconnect() throws Exception {
+        long owner = userService.create(new UserDto(null, "owner", "disconnect-owner@mail.ru")).getId();
+
+        mockMvc.perform(get("/bookings/owner/stream").param("overflow", "DISCONNECT").header(USER_HEADER, owner))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(
+                        "Booking stream cannot replay after a disconnect, use DROP_OLDEST or COALESCE"));
+        for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.DROP_OLDEST, OverflowPolicy.COALESCE}) {
+            mockMvc.perform(get("/bookings/owner/stream").param("overflow", policy.name()).header(USER_HEADER, owner))
+                    .andExpect(request().asyncStarted());
+        }
+    }
+}
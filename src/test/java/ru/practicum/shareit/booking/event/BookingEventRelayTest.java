@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.RentalFixtures;
+import ru.practicum.shareit.RentalFixtures.Rental;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The relay is off in the test profile; here it is on with a poll interval long enough that the tests drive
+ * every batch themselves. The outbox is shared with the rest of the suite, so each test only looks at the
+ * events of its own owner.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "shareit.outbox.relay-enabled=true",
+        "shareit.outbox.poll-interval=3600000"
+})
+class BookingEventRelayTest {
+    private static final int MAX_BATCHES = 50;
+
+    @Autowired
+    private BookingEventRelay relay;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private SseBookingEventSink sseBookingEventSink;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RentalFixtures fixtures;
+
+    @Autowired
+    private BookingOutbox bookingOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void healSink() {
+        recordingSink.failFor = null;
+    }
+
+    @Test
+    void numbersPublishedEventsInPublishOrder() {
+        Rental rental = rental(3);
+
+        relayUntilPublished(rental.owner());
+
+        List<BookingEventDto> published = recordingSink.published(rental.owner());
+        assertEquals(3, published.size());
+        assertEquals(published.stream().map(BookingEventDto::getId).sorted().toList(),
+                published.stream().map(BookingEventDto::getId).toList());
+        List<Long> sequences = published.stream().map(BookingEventDto::getSequence).toList();
+        assertEquals(sequences.stream().sorted().distinct().toList(), sequences);
+        assertEquals(sequences, publishSequences(rental.owner()));
+        assertTrue(sequences.getLast() <= lastSequence());
+    }
+
+    @Test
+    void failingSinkLeavesBatchForNextPoll() {
+        Rental rental = rental(1);
+        recordingSink.failFor = rental.owner();
+        long before = lastSequence();
+
+        assertThrows(IllegalStateException.class, this::relayAll);
+        assertEquals(1, unpublished(rental.owner()));
+        assertTrue(publishSequences(rental.owner()).isEmpty());
+        assertEquals(before, lastSequence());
+
+        recordingSink.failFor = null;
+        relayUntilPublished(rental.owner());
+        assertEquals(0, unpublished(rental.owner()));
+    }
+
+    @Test
+    void stalledStreamDoesNotHoldUpRelay() throws InterruptedException {
+        Rental rental = rental(2);
+        RecordingEmitter emitter = new RecordingEmitter(true);
+        sseBookingEventSink.subscribe(rental.owner(), List::of, emitter);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> relayUntilPublished(rental.owner()));
+        assertTrue(emitter.sent().isEmpty());
+
+        emitter.release();
+        List<String> sent = emitter.await(2);
+        assertEquals(publishSequences(rental.owner()), ids(sent));
+        assertEquals(List.of("CREATED", "CREATED"),
+                sent.stream().map(event -> RecordingEmitter.field(event, "event")).toList());
+    }
+
+    @Test
+    void eventsPublishedAroundReplayQueryAreSentOnceInOrder() throws InterruptedException {
+        Rental rental = rental(1);
+        relayUntilPublished(rental.owner());
+        long lastEventId = publishSequences(rental.owner()).getFirst() - 1;
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        sseBookingEventSink.subscribe(rental.owner(), () -> {
+            book(rental, 1);
+            relayUntilPublished(rental.owner());
+            List<BookingEventDto> replayed = bookingOutbox.replay(rental.owner(), lastEventId,
+                    SseBookingEventSink.REPLAY_LIMIT);
+            book(rental, 2);
+            relayUntilPublished(rental.owner());
+            return replayed;
+        }, emitter);
+
+        List<Long> sequences = publishSequences(rental.owner());
+        assertEquals(3, sequences.size());
+        assertEquals(sequences, ids(emitter.await(3)));
+        assertEquals(3, emitter.sent().size());
+    }
+
+    private void relayAll() {
+        for (int i = 0; i < MAX_BATCHES; i++) {
+            relay.relay();
+        }
+    }
+
+    private void relayUntilPublished(long owner) {
+        for (int i = 0; i < MAX_BATCHES && unpublished(owner) > 0; i++) {
+            relay.relay();
+        }
+        assertEquals(0, unpublished(owner));
+    }
+
+    private List<Long> publishSequences(long owner) {
+        return jdbcTemplate.queryForList("SELECT publish_seq FROM booking_events"
+                + " WHERE owner_id = ? AND publish_seq IS NOT NULL ORDER BY publish_seq", Long.class, owner);
+    }
+
+    private long lastSequence() {
+        return jdbcTemplate.queryForObject("SELECT last_seq FROM booking_event_sequence", Long.class);
+    }
+
+    private static List<Long> ids(List<String> sent) {
+        return sent.stream().map(event -> Long.valueOf(RecordingEmitter.field(event, "id"))).toList();
+    }
+
+    private int unpublished(long owner) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM booking_events WHERE owner_id = ? AND published_at IS NULL",
+                Integer.class, owner);
+    }
+
+    private Rental rental(int bookings) {
+        Rental rental = fixtures.rental();
+        for (int i = 0; i < bookings; i++) {
+            book(rental, i);
+        }
+        return rental;
+    }
+
+    private void book(Rental rental, int slot) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + 2L * slot);
+        bookingService.createBooking(
+                new BookingDto(null, start, start.plusDays(1), rental.item(), rental.booker(), null));
+    }
+
+    static class RecordingSink implements BookingEventSink {
+        private final List<BookingEventDto> published = new CopyOnWriteArrayList<>();
+        private volatile Long failFor;
+
+        @Override
+        public void publish(List<BookingEventDto> events) {
+            if (events.stream().anyMatch(event -> event.getOwnerId().equals(failFor))) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+            published.addAll(events);
+        }
+
+        List<BookingEventDto> published(long owner) {
+            return published.stream().filter(event -> event.getOwnerId() == owner).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Open streams must not keep the connection their request used: with a pool of two, a handful of idle
+ * streams would otherwise starve every other endpoint.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + BookingStreamConnectionTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@AutoConfigureMockMvc
+class BookingStreamConnectionTest {
+    static final int POOL_SIZE = 2;
+    private static final int STREAMS = POOL_SIZE * 3;
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void openStreamsLeaveConnectionsForOtherRequests() throws Exception {
+        long owner = userService.create(new UserDto(null, "owner", "pool-stream-owner@mail.ru")).getId();
+
+        for (int i = 0; i < STREAMS; i++) {
+            // A cached user is checked without a query; evicting makes every stream take a connection.
+            entityManagerFactory.getCache().evictAll();
+            mockMvc.perform(get("/bookings/owner/stream").header(USER_HEADER, owner))
+                    .andExpect(request().asyncStarted());
+            entityManagerFactory.getCache().evictAll();
+            mockMvc.perform(get("/bookings/owner/events").header(USER_HEADER, owner).header("Last-Event-ID", 0))
+                    .andExpect(request().asyncStarted());
+        }
+
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(get("/users/{id}", owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(owner));
+    }
+}
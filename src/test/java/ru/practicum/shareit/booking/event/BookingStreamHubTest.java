@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Status;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Publishes outside a transaction, so events reach the buffers at once and the hub's own writer threads
+ * deliver them. A stalled client holds its first write while the buffer of two overflows behind it.
+ */
+class BookingStreamHubTest {
+    private static final long OWNER = 1L;
+
+    private final BookingStreamHub hub = new BookingStreamHub(2);
+
+    @AfterEach
+    void shutdown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void dropOldestSendsNewestBookingsAfterDroppedCount() throws InterruptedException {
+        RecordingEmitter emitter = stalledBehindOverflow(OverflowPolicy.DROP_OLDEST);
+
+        List<String> sent = emitter.await(4);
+
+        assertEquals(List.of("booking", "dropped", "booking", "booking"), names(sent));
+        assertEquals(List.of("1", "4", "5"), List.of(id(sent, 0), id(sent, 2), id(sent, 3)));
+        assertEquals("{count=2}", RecordingEmitter.field(sent.get(1), "data"));
+    }
+
+    @Test
+    void coalesceSendsSingleResyncThenCarriesOn() throws InterruptedException {
+        RecordingEmitter emitter = stalledBehindOverflow(OverflowPolicy.COALESCE);
+
+        assertEquals(List.of("booking", "resync"), names(emitter.await(2)));
+        hub.publish(List.of(created(6)));
+
+        List<String> sent = emitter.await(3);
+        assertEquals(List.of("booking", "resync", "booking"), names(sent));
+        assertEquals("6", id(sent, 2));
+    }
+
+    @Test
+    void onlyNewWaitingBookingsAreStreamed() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(OWNER, OverflowPolicy.COALESCE, emitter);
+        BookingEventDto approved = created(1);
+        approved.setType(BookingEventType.STATUS_CHANGED);
+        approved.setStatus(Status.APPROVED);
+        BookingEventDto otherOwner = created(2);
+        otherOwner.setOwnerId(OWNER + 1);
+
+        hub.publish(List.of(approved, otherOwner, created(3)));
+
+        List<String> sent = emitter.await(1);
+        assertEquals(List.of("3"), sent.stream().map(event -> RecordingEmitter.field(event, "id")).toList());
+    }
+
+    @Test
+    void heartbeatKeepsIdleStreamAliveAndClosesDeadOne() throws InterruptedException {
+        RecordingEmitter idle = new RecordingEmitter();
+        RecordingEmitter dead = new RecordingEmitter();
+        hub.subscribe(OWNER, OverflowPolicy.COALESCE, idle);
+        hub.subscribe(OWNER, OverflowPolicy.COALESCE, dead);
+        dead.fail();
+
+        hub.heartbeat();
+
+        assertEquals(":heartbeat", idle.await(1).getFirst().strip());
+        waitUntilCompleted(dead);
+        assertTrue(dead.isCompleted());
+        assertFalse(idle.isCompleted());
+
+        hub.publish(List.of(created(1)));
+        assertEquals(2, idle.await(2).size());
+        assertTrue(dead.sent().isEmpty());
+    }
+
+    /**
+     * Booking 1 is in flight when bookings 2 to 5 arrive, so 2 and 3 overflow the buffer.
+     */
+    private RecordingEmitter stalledBehindOverflow(OverflowPolicy policy) throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter(true);
+        hub.subscribe(OWNER, policy, emitter);
+        hub.publish(List.of(created(1)));
+        emitter.awaitSending();
+        hub.publish(List.of(created(2), created(3), created(4), created(5)));
+        emitter.release();
+        return emitter;
+    }
+
+    private static void waitUntilCompleted(RecordingEmitter emitter) throws InterruptedException {
+        for (int i = 0; i < 500 && !emitter.isCompleted(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> names(List<String> sent) {
+        return sent.stream().map(event -> RecordingEmitter.field(event, "event")).toList();
+    }
+
+    private static String id(List<String> sent, int index) {
+        return RecordingEmitter.field(sent.get(index), "id");
+    }
+
+    private static BookingEventDto created(long bookingId) {
+        BookingEventDto event = new BookingEventDto();
+        event.setId(bookingId);
+        event.setSequence(bookingId);
+        event.setBookingId(bookingId);
+        event.setType(BookingEventType.CREATED);
+        event.setOwnerId(OWNER);
+        event.setStatus(Status.WAITING);
+        return event;
+    }
+}
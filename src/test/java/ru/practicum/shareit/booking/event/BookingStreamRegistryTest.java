@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * An owner reconnecting while their previous stream closes must end up with the new stream registered, or it
+ * stays open and never hears about another booking.
+ */
+class BookingStreamRegistryTest {
+    private static final int OWNERS = 500;
+
+    private final BookingStreamRegistry registry = new BookingStreamRegistry();
+
+    @AfterEach
+    void shutdown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void streamRegisteredWhileLastOneClosesReceivesEvents() throws Exception {
+        List<RecordingEmitter> reconnected = new ArrayList<>();
+        CyclicBarrier start = new CyclicBarrier(2);
+        for (long owner = 1; owner <= OWNERS; owner++) {
+            BookingStreamSubscriber closing = register(owner, new RecordingEmitter());
+            RecordingEmitter emitter = new RecordingEmitter();
+            reconnected.add(emitter);
+            long ownerId = owner;
+            Thread closer = Thread.ofPlatform().start(() -> {
+                await(start);
+                closing.close();
+            });
+            await(start);
+            register(ownerId, emitter);
+            closer.join();
+        }
+
+        List<BookingEventDto> events = new ArrayList<>();
+        for (long owner = 1; owner <= OWNERS; owner++) {
+            events.add(created(owner));
+        }
+        registry.publish(events);
+
+        for (int i = 0; i < OWNERS; i++) {
+            assertEquals(1, reconnected.get(i).await(1).size(), "owner " + (i + 1) + " lost its stream");
+        }
+    }
+
+    private BookingStreamSubscriber register(long ownerId, RecordingEmitter emitter) {
+        return registry.register(ownerId, emitter, OverflowPolicy.COALESCE, 2,
+                event -> SseEmitter.event().id(String.valueOf(event.getSequence())).name("booking").data(event),
+                false);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BookingEventDto created(long ownerId) {
+        BookingEventDto event = new BookingEventDto();
+        event.setId(ownerId);
+        event.setSequence(ownerId);
+        event.setBookingId(ownerId);
+        event.setType(BookingEventType.CREATED);
+        event.setOwnerId(ownerId);
+        event.setStatus(Status.WAITING);
+        return event;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.Status;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a subscriber by hand: offers stand in for the relay, {@code drain()} for the writer thread.
+ */
+class BookingStreamSubscriberTest {
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final AtomicInteger closes = new AtomicInteger();
+
+    @Test
+    void pausedSubscriberBuffersUntilResumed() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.DISCONNECT, 10, true);
+
+        assertFalse(subscriber.offer(event(3)));
+        assertTrue(subscriber.resume(List.of(), false));
+        subscriber.drain();
+
+        assertEquals(List.of("3"), ids());
+    }
+
+    @Test
+    void resumeSendsReplayFirstAndSkipsLiveEventsItCovers() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.DISCONNECT, 10, true);
+        subscriber.offer(event(3));
+        subscriber.offer(event(4));
+
+        subscriber.resume(List.of(event(2), event(3)), false);
+        subscriber.offer(event(3));
+        subscriber.offer(event(5));
+        subscriber.drain();
+
+        assertEquals(List.of("2", "3", "4", "5"), ids());
+        assertFalse(emitter.isCompleted());
+    }
+
+    @Test
+    void truncatedReplayEndsStreamAfterReplay() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.DISCONNECT, 10, true);
+        subscriber.offer(event(7));
+
+        subscriber.resume(List.of(event(1), event(2)), true);
+        subscriber.drain();
+
+        assertEquals(List.of("1", "2"), ids());
+        assertTrue(emitter.isCompleted());
+        assertEquals(1, closes.get());
+    }
+
+    @Test
+    void disconnectPolicyEndsStreamWhenBufferIsFull() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.DISCONNECT, 2, false);
+
+        assertTrue(subscriber.offer(event(1)));
+        subscriber.offer(event(2));
+        subscriber.offer(event(3));
+        assertFalse(subscriber.offer(event(4)));
+        subscriber.drain();
+
+        assertTrue(emitter.sent().isEmpty());
+        assertTrue(emitter.isCompleted());
+        assertEquals(1, closes.get());
+    }
+
+    @Test
+    void dropOldestPolicyReportsHowManyWereDropped() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.DROP_OLDEST, 2, false);
+
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            subscriber.offer(event(sequence));
+        }
+        subscriber.drain();
+
+        assertEquals(List.of("dropped", "booking", "booking"), names());
+        assertEquals("{count=2}", RecordingEmitter.field(emitter.sent().getFirst(), "data"));
+        assertEquals(List.of("3", "4"), ids().subList(1, 3));
+    }
+
+    @Test
+    void coalescePolicyReplacesBufferWithResync() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.COALESCE, 2, false);
+
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            subscriber.offer(event(sequence));
+        }
+        assertFalse(subscriber.offer(event(4)));
+        subscriber.drain();
+        assertEquals(List.of("resync"), names());
+
+        assertTrue(subscriber.offer(event(5)));
+        subscriber.drain();
+        assertEquals(List.of("resync", "booking"), names());
+        assertEquals("5", ids().get(1));
+    }
+
+    @Test
+    void heartbeatIsSentOnlyWhenIdle() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.COALESCE, 2, false);
+
+        assertTrue(subscriber.heartbeat());
+        subscriber.drain();
+        assertEquals(List.of(":heartbeat"), comments());
+
+        subscriber.offer(event(1));
+        assertFalse(subscriber.heartbeat());
+        subscriber.drain();
+        assertEquals(List.of(":heartbeat"), comments());
+        assertEquals(List.of("1"), ids().subList(1, 2));
+    }
+
+    @Test
+    void failedWriteClosesStreamAndCompletesResponse() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.COALESCE, 2, false);
+        emitter.fail();
+
+        subscriber.offer(event(1));
+        subscriber.drain();
+
+        assertTrue(emitter.isCompleted());
+        assertEquals(1, closes.get());
+        assertFalse(subscriber.offer(event(2)));
+        assertFalse(subscriber.heartbeat());
+    }
+
+    @Test
+    void closeIsIdempotent() {
+        BookingStreamSubscriber subscriber = subscriber(OverflowPolicy.COALESCE, 2, false);
+
+        subscriber.close();
+        subscriber.close();
+
+        assertTrue(emitter.isCompleted());
+        assertEquals(1, closes.get());
+    }
+
+    private BookingStreamSubscriber subscriber(OverflowPolicy policy, int capacity, boolean paused) {
+        return new BookingStreamSubscriber(1L, emitter, policy, capacity,
+                event -> SseEmitter.event().id(String.valueOf(event.getSequence())).name("booking").data(event),
+                paused, subscriber -> closes.incrementAndGet());
+    }
+
+    private List<String> ids() {
+        return emitter.sent().stream().map(event -> RecordingEmitter.field(event, "id")).toList();
+    }
+
+    private List<String> names() {
+        return emitter.sent().stream().map(event -> RecordingEmitter.field(event, "event")).toList();
+    }
+
+    private List<String> comments() {
+        return emitter.sent().stream().filter(event -> event.startsWith(":")).map(String::strip).toList();
+    }
+
+    private static BookingEventDto event(long sequence) {
+        BookingEventDto event = new BookingEventDto();
+        event.setId(sequence);
+        event.setSequence(sequence);
+        event.setType(BookingEventType.CREATED);
+        event.setOwnerId(1L);
+        event.setStatus(Status.WAITING);
+        return event;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps what a stream would have written, one rendered event per send. A client that stops reading is
+ * simulated by holding sends until {@link #release()}, a dead one by failing them.
+ */
+class RecordingEmitter extends SseEmitter {
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch reading;
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private volatile boolean failing;
+    private volatile boolean completed;
+
+    RecordingEmitter() {
+        this(false);
+    }
+
+    RecordingEmitter(boolean stalled) {
+        reading = new CountDownLatch(stalled ? 1 : 0);
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+        sending.countDown();
+        try {
+            reading.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        if (failing) {
+            throw new IOException("Broken pipe");
+        }
+        sent.add(builder.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining()));
+    }
+
+    @Override
+    public synchronized void complete() {
+        completed = true;
+        super.complete();
+    }
+
+    /**
+     * Waits until the writer thread is inside its first send.
+     */
+    void awaitSending() throws InterruptedException {
+        if (!sending.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Nothing was sent");
+        }
+    }
+
+    void release() {
+        reading.countDown();
+    }
+
+    void fail() {
+        failing = true;
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    List<String> sent() {
+        return sent;
+    }
+
+    /**
+     * Waits for the writer thread to deliver {@code count} events and returns everything sent so far.
+     */
+    List<String> await(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return List.copyOf(sent);
+    }
+
+    static String field(String event, String name) {
+        return event.lines()
+                .filter(line -> line.startsWith(name + ":"))
+                .map(line -> line.substring(name.length() + 1))
+                .findFirst()
+                .orElse(null);
+    }
+}
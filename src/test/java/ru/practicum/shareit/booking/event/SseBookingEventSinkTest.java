@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Event streams get the same heartbeats as the booking streams, so an idle one survives proxies and a dead
+ * one gives up its subscriber long before the stream times out.
+ */
+class SseBookingEventSinkTest {
+    private static final long OWNER = 1L;
+
+    private final SseBookingEventSink sink = new SseBookingEventSink(2);
+
+    @AfterEach
+    void shutdown() {
+        sink.shutdown();
+    }
+
+    @Test
+    void heartbeatKeepsIdleStreamAliveAndClosesDeadOne() throws InterruptedException {
+        RecordingEmitter idle = new RecordingEmitter();
+        RecordingEmitter dead = new RecordingEmitter();
+        sink.subscribe(OWNER, List::of, idle);
+        sink.subscribe(OWNER, List::of, dead);
+        dead.fail();
+
+        sink.heartbeat();
+
+        assertEquals(":heartbeat", idle.await(1).getFirst().strip());
+        for (int i = 0; i < 500 && !dead.isCompleted(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(dead.isCompleted());
+        assertFalse(idle.isCompleted());
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.idempotency;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTest {
+    private final IdempotencyStore store = new IdempotencyStore();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void replaysResponseForSameKeyAndRequest() {
+        assertEquals(1, store.execute("approval:1", "key", "7:true", calls::incrementAndGet));
+        assertEquals(1, store.execute("approval:1", "key", "7:true", calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() {
+        store.execute("approval:1", "key", "7:true", calls::incrementAndGet);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> store.execute("approval:1", "key", "7:false", calls::incrementAndGet));
+        assertEquals("Idempotency key was already used for a different request", e.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keysAreScoped() {
+        store.execute("approval:1", "key", "7:true", calls::incrementAndGet);
+        store.execute("approval:2", "key", "7:true", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void runsEveryRequestWithoutKey() {
+        store.execute("approval:1", null, "7:true", calls::incrementAndGet);
+        store.execute("approval:1", " ", "7:true", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failedRequestIsNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> store.execute("approval:1", "key", "7:true", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("database is down");
+        }));
+
+        assertEquals(2, store.execute("approval:1", "key", "7:true", calls::incrementAndGet));
+    }
+
+    @Test
+    void concurrentRetryWaitsForFirstResponse() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> first = executor.submit(() -> store.execute("approval:1", "key", "7:true", () -> {
+                running.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<Integer> retry = executor.submit(() ->
+                    store.execute("approval:1", "key", "7:true", calls::incrementAndGet));
+
+            assertThrows(TimeoutException.class, () -> retry.get(200, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void differentRequestIsRejectedWhileFirstIsRunning() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Integer> first = executor.submit(() -> store.execute("approval:1", "key", "7:true", () -> {
+                running.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ValidationException.class,
+                    () -> store.execute("approval:1", "key", "7:false", calls::incrementAndGet));
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waiterRunsActionWhenFirstAttemptFails() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> first = executor.submit(() -> store.execute("approval:1", "key", "7:true", () -> {
+                running.countDown();
+                await(release);
+                calls.incrementAndGet();
+                throw new IllegalStateException("database is down");
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<Integer> retry = executor.submit(() ->
+                    store.execute("approval:1", "key", "7:true", calls::incrementAndGet));
+            release.countDown();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals(2, retry.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void rejectsOverlongKey() {
+        assertThrows(ValidationException.class,
+                () -> store.execute("approval:1", "k".repeat(256), "7:true", calls::incrementAndGet));
+        assertEquals(0, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.RentalFixtures;
+import ru.practicum.shareit.RentalFixtures.Rental;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.comment.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.pagination.KeysetCursor.NEXT_CURSOR_HEADER;
+
+/**
+ * The comment thread pages by (created, id) newest first, and the item preview shows the head of the same
+ * order together with the maintained total.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemCommentsTest {
+    private static final int COMMENTS = 7;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RentalFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cursorWalksThreadNewestFirstBreakingTiesById() throws Exception {
+        Fixture fixture = fixture();
+        List<Long> expected = fixture.newestFirst();
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/items/{id}/comments", fixture.item()).param("limit", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse();
+            List<Long> page = ids(objectMapper.readTree(response.getContentAsString()));
+            pageSizes.add(page.size());
+            seen.addAll(page);
+            cursor = response.getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(List.of(3, 3, 1), pageSizes);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void previewShowsNewestCommentsAndMaintainedTotal() throws Exception {
+        Fixture fixture = fixture();
+
+        JsonNode item = objectMapper.readTree(mockMvc.perform(get("/items/{id}", fixture.item())
+                        .header("X-Sharer-User-Id", fixture.booker()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+
+        assertEquals(COMMENTS, item.get("commentCount").asLong());
+        assertEquals(fixture.newestFirst().subList(0, 5), ids(item.get("comments")));
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        Fixture fixture = fixture();
+
+        mockMvc.perform(get("/items/{id}/comments", fixture.item()).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        assertNull(mockMvc.perform(get("/items/{id}/comments", fixture.item()).param("limit", "50"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * Seven comments where the middle five share one timestamp, so only the id orders them.
+     */
+    private Fixture fixture() {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.book(rental, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            ids.add(itemService.pastComment(new CommentDto(null, "Comment " + i, null, null), rental.booker(),
+                    rental.item()).getId());
+        }
+        LocalDateTime tie = now.minusHours(1);
+        jdbcTemplate.update("UPDATE comments SET created_at = ? WHERE id = ?", now.minusHours(2), ids.get(0));
+        for (Long id : ids.subList(1, COMMENTS - 1)) {
+            jdbcTemplate.update("UPDATE comments SET created_at = ? WHERE id = ?", tie, id);
+        }
+        jdbcTemplate.update("UPDATE comments SET created_at = ? WHERE id = ?", now, ids.get(COMMENTS - 1));
+
+        List<Long> newestFirst = new ArrayList<>();
+        newestFirst.add(ids.get(COMMENTS - 1));
+        newestFirst.addAll(ids.subList(1, COMMENTS - 1).reversed());
+        newestFirst.add(ids.get(0));
+        return new Fixture(rental.booker(), rental.item(), newestFirst);
+    }
+
+    private static List<Long> ids(JsonNode comments) {
+        List<Long> ids = new ArrayList<>();
+        comments.forEach(comment -> ids.add(comment.get("id").asLong()));
+        return ids;
+    }
+
+    private record Fixture(long booker, long item, List<Long> newestFirst) {
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.RentalFixtures;
+import ru.practicum.shareit.RentalFixtures.Rental;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UpdateUserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The item ETag is built from maintained values only, so it has to change on every visible difference
+ * without any of them being an edit of the item itself.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class ItemVersionTagTest {
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RentalFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Test
+    void nextBookingBecomingLastChangesOwnerTag() {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        long booking = fixtures.book(rental, now.plusHours(1), now.plusHours(2), Status.APPROVED);
+
+        String next = tag(rental.item(), rental.owner());
+        jdbcTemplate.update("UPDATE bookings SET start_time = ?, end_time = ? WHERE id = ?",
+                now.minusHours(1), now.plusHours(1), booking);
+        String last = tag(rental.item(), rental.owner());
+
+        assertEquals(version(rental) + "-0-0-L-N" + booking, next);
+        assertEquals(version(rental) + "-0-0-L" + booking + "-N", last);
+    }
+
+    @Test
+    void ownerTagAndBodyShareOneBookingLookup() {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        long last = fixtures.book(rental, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        long next = fixtures.book(rental, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        AtomicReference<String> tag = new AtomicReference<>();
+        AtomicReference<ItemDto> item = new AtomicReference<>();
+
+        List<String> sql = sqlStatementCounter.capture(() -> item.set(itemService.getIfModified(rental.item(),
+                rental.owner(), seen -> {
+                    tag.set(seen);
+                    return false;
+                })));
+
+        assertEquals(version(rental) + "-0-0-L" + last + "-N" + next, tag.get());
+        assertEquals(last, item.get().getLastBooking().getId());
+        assertEquals(next, item.get().getNextBooking().getId());
+        assertEquals(1, sql.stream().filter(statement -> statement.contains("from bookings")).count(),
+                () -> "last and next bookings were not looked up once: " + sql);
+        assertNull(itemService.getIfModified(rental.item(), rental.owner(), tag.get()::equals));
+    }
+
+    @Test
+    void commentAndAuthorRenameChangeTag() {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.book(rental, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+
+        String before = tag(rental.item(), rental.booker());
+        itemService.pastComment(new CommentDto(null, "Great drill", null, null), rental.booker(), rental.item());
+        String commented = tag(rental.item(), rental.booker());
+        userService.update(rental.booker(), new UpdateUserDto("renamed", null));
+        String renamed = tag(rental.item(), rental.booker());
+
+        assertNotEquals(before, commented);
+        assertNotEquals(commented, renamed);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT comment_count FROM items WHERE id = ?",
+                Long.class, rental.item()));
+    }
+
+    @Test
+    void commentKeepsOtherItemsCached() {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.book(rental, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        long other = itemService.create(rental.owner(), new ItemCreateDto("Saw", "Hand saw", true, null, null))
+                .getId();
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, other));
+
+        itemService.pastComment(new CommentDto(null, "Great drill", null, null), rental.booker(), rental.item());
+
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, other));
+        assertEquals(1, itemService.getById(rental.item(), rental.booker()).getCommentCount());
+    }
+
+    /**
+     * Returns the tag {@link ItemService#getIfModified} compares, letting the item itself be read.
+     */
+    private String tag(long item, long user) {
+        AtomicReference<String> tag = new AtomicReference<>();
+        itemService.getIfModified(item, user, seen -> {
+            tag.set(seen);
+            return false;
+        });
+        return tag.get();
+    }
+
+    private long version(Rental rental) {
+        return jdbcTemplate.queryForObject("SELECT version FROM items WHERE id = ?", Long.class, rental.item());
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntervalSetTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void mergesOverlappingAndTouchingIntervals() {
+        IntervalSet set = new IntervalSet();
+        set.add(at(0), at(2));
+        set.add(at(1), at(3));
+        set.add(at(3), at(4));
+        set.add(at(6), at(7));
+
+        assertEquals(List.of(interval(0, 4), interval(6, 7)), set.busy(at(0), at(10)));
+    }
+
+    @Test
+    void mergesAnIntervalSpanningSeveralExistingOnes() {
+        IntervalSet set = new IntervalSet();
+        set.add(at(1), at(2));
+        set.add(at(3), at(4));
+        set.add(at(5), at(6));
+        set.add(at(0), at(5));
+
+        assertEquals(List.of(interval(0, 6)), set.busy(at(0), at(10)));
+    }
+
+    @Test
+    void busyClipsIntervalsToTheWindow() {
+        IntervalSet set = new IntervalSet();
+        set.add(at(0), at(4));
+        set.add(at(6), at(9));
+
+        assertEquals(List.of(interval(2, 4), interval(6, 7)), set.busy(at(2), at(7)));
+    }
+
+    @Test
+    void busyTreatsIntervalsAsHalfOpen() {
+        IntervalSet set = new IntervalSet();
+        set.add(at(0), at(2));
+        set.add(at(5), at(6));
+
+        assertEquals(List.of(), set.busy(at(2), at(5)));
+    }
+
+    @Test
+    void freeFillsTheGapsBetweenBusyIntervals() {
+        List<IntervalDto> busy = List.of(interval(1, 2), interval(4, 5));
+
+        assertEquals(List.of(interval(0, 1), interval(2, 4), interval(5, 6)), IntervalSet.free(busy, at(0), at(6)));
+        assertEquals(List.of(), IntervalSet.free(List.of(interval(0, 6)), at(0), at(6)));
+        assertEquals(List.of(interval(0, 6)), IntervalSet.free(List.of(), at(0), at(6)));
+    }
+
+    private static LocalDateTime at(int hours) {
+        return T0.plusHours(hours);
+    }
+
+    private static IntervalDto interval(int from, int to) {
+        return new IntervalDto(at(from), at(to));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemAvailabilityServiceImplTest {
+    private static final long ITEM_ID = 1L;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemAvailabilityServiceImpl service = new ItemAvailabilityServiceImpl(bookingRepository,
+            itemRepository, 60_000);
+
+    private final LocalDateTime from = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime to = from.plusDays(1);
+
+    @Test
+    void loadRacingABookingCommitIsNotCached() {
+        Booking committed = booking(from.plusHours(1), from.plusHours(2));
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenAnswer(invocation -> {
+                    // The booking commits after the load read its snapshot.
+                    service.onBookingCreated(committed);
+                    return List.of();
+                })
+                .thenReturn(List.of(committed));
+
+        assertEquals(List.of(), service.getAvailability(ITEM_ID, from, to).getBusy());
+        assertEquals(List.of(new IntervalDto(from.plusHours(1), from.plusHours(2))),
+                service.getAvailability(ITEM_ID, from, to).getBusy());
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any());
+    }
+
+    @Test
+    void committedBookingsAreMergedIntoTheCachedEntry() {
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of());
+
+        service.getAvailability(ITEM_ID, from, to);
+        service.onBookingCreated(booking(from.plusHours(3), from.plusHours(4)));
+
+        assertEquals(List.of(new IntervalDto(from.plusHours(3), from.plusHours(4))),
+                service.getAvailability(ITEM_ID, from, to).getBusy());
+        verify(bookingRepository, times(1)).findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any());
+    }
+
+    @Test
+    void windowsBeforeTheCachedHorizonReadTheDatabase() {
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of());
+
+        service.getAvailability(ITEM_ID, from, to);
+        service.getAvailability(ITEM_ID, from.minusDays(2), to);
+
+        verify(bookingRepository).findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(),
+                eq(from.minusDays(2)));
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        ItemAvailabilityServiceImpl expiring = new ItemAvailabilityServiceImpl(bookingRepository, itemRepository, 0);
+        Booking elsewhere = booking(from.plusHours(1), from.plusHours(2));
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(elsewhere));
+
+        expiring.getAvailability(ITEM_ID, from, to);
+
+        // Written by another instance, so this one never heard of it.
+        assertEquals(List.of(new IntervalDto(from.plusHours(1), from.plusHours(2))),
+                expiring.getAvailability(ITEM_ID, from, to).getBusy());
+    }
+
+    private static Booking booking(LocalDateTime start, LocalDateTime end) {
+        Item item = new Item(ITEM_ID, "Drill", "Cordless", true, null, null, 0, null, null, null, null);
+        return new Booking(1L, start, end, item, null, Status.WAITING, 0L);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.comment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.RentalFixtures;
+import ru.practicum.shareit.RentalFixtures.Rental;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Only an approved booking that has already ended lets the booker comment; the eligibility check and the
+ * comment endpoint must agree on every other status and period.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class CommentEligibilityTest {
+    @Autowired
+    private CommentEligibilityService commentEligibilityService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RentalFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void endedApprovedBookingAllowsComment() {
+        Rental rental = rental(Status.APPROVED, -48, -24);
+
+        assertTrue(commentEligibilityService.getEligibility(rental.booker(), rental.item()).isEligible());
+        CommentDto comment = itemService.pastComment(new CommentDto(null, "Great drill", null, null),
+                rental.booker(), rental.item());
+        assertEquals("booker", comment.getAuthorName());
+    }
+
+    @ParameterizedTest(name = "{0} booking from {1}h to {2}h")
+    @CsvSource({
+            "REJECTED, -48, -24",
+            "WAITING, -48, -24",
+            "CANCELED, -48, -24",
+            "APPROVED, 24, 48",
+            "APPROVED, -1, 1",
+    })
+    void otherBookingsRejectComment(Status status, int startHours, int endHours) {
+        Rental rental = rental(status, startHours, endHours);
+
+        assertFalse(commentEligibilityService.getEligibility(rental.booker(), rental.item()).isEligible());
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> itemService.pastComment(new CommentDto(null, "Great drill", null, null),
+                        rental.booker(), rental.item()));
+        assertEquals("User has not booked item", e.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE item_id = ?",
+                Integer.class, rental.item()));
+    }
+
+    private Rental rental(Status status, int startHours, int endHours) {
+        Rental rental = fixtures.rental();
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.book(rental, now.plusHours(startHours), now.plusHours(endHours), status);
+        return rental;
+    }
+}
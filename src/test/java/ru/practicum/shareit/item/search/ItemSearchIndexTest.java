@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private final ItemSearchIndex index = new ItemSearchIndex(null);
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        index.index(item(1, "Saw", "Cuts like a drill never could", true));
+        index.index(item(2, "Cordless drill", "18V", true));
+        index.index(item(3, "Drill", "Hammer drill", true));
+
+        assertEquals(List.of(3L, 2L, 1L), index.search("DRILL", 10));
+    }
+
+    @Test
+    void returnsAtMostLimitHits() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Drill " + id, "Drill", true));
+        }
+
+        assertEquals(List.of(1L, 2L), index.search("drill", 2));
+    }
+
+    @Test
+    void shortQueriesFallBackToScanningAllItems() {
+        index.index(item(1, "Drill", "Cordless", true));
+        index.index(item(2, "Saw", "Hand saw", true));
+
+        assertEquals(List.of(1L), index.search("dr", 10));
+        assertEquals(List.of(2L, 1L), index.search("s", 10));
+        assertEquals(List.of(), index.search("", 10));
+    }
+
+    @Test
+    void skipsUnavailableItems() {
+        index.index(item(1, "Drill", "Cordless", false));
+
+        assertEquals(List.of(), index.search("drill", 10));
+    }
+
+    @Test
+    void appliesChangesOnlyAfterCommit() {
+        index.index(item(1, "Drill", "Cordless", true));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(item(1, "Saw", "Hand saw", true));
+        index.index(item(2, "Drill press", "Bench", true));
+        assertEquals(List.of(1L), index.search("drill", 10));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(2L), index.search("drill", 10));
+        assertEquals(List.of(1L), index.search("saw", 10));
+    }
+
+    @Test
+    void discardsChangesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(item(1, "Drill", "Cordless", true));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(List.of(), index.search("drill", 10));
+    }
+
+    @Test
+    void rebuildKeepsChangesCommittedWhileItLoads() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSearchIndex rebuilt = new ItemSearchIndex(itemRepository);
+        rebuilt.index(item(1, "Drill", "Cordless", true));
+        when(itemRepository.findAll()).thenAnswer(invocation -> {
+            // Renamed and committed after the rebuild read the old row.
+            rebuilt.index(item(1, "Saw", "Hand saw", true));
+            return List.of(item(1, "Drill", "Cordless", true), item(2, "Drill press", "Bench", true));
+        });
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(1L), rebuilt.search("saw", 10));
+        assertEquals(List.of(2L), rebuilt.search("drill", 10));
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return new Item(id, name, description, available, null, null, 0, null, null, null, null);
+    }
+}
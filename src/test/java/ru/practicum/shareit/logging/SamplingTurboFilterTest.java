@@ -0,0 +1,64 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplingTurboFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setRate(5);
+        filter.start();
+        context.addTurboFilter(filter);
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void samplesHotReadsAtInfoLevel() {
+        Logger logger = context.getLogger("hot");
+        for (int i = 0; i < 10; i++) {
+            logger.debug(LogMarkers.HOT_READ, "read {}", i);
+            logger.debug("plain {}", i);
+        }
+
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.stream().allMatch(event -> event.getMessage().startsWith("read")));
+    }
+
+    @Test
+    void samplesEachLoggerOnItsOwn() {
+        Logger busy = context.getLogger("busy");
+        Logger quiet = context.getLogger("quiet");
+        for (int i = 0; i < 4; i++) {
+            busy.debug(LogMarkers.HOT_READ, "busy {}", i);
+        }
+        quiet.debug(LogMarkers.HOT_READ, "quiet");
+
+        assertEquals(2, appender.list.size());
+        assertEquals("quiet", appender.list.get(1).getMessage());
+    }
+
+    @Test
+    void guardedCallsReachTheSampler() {
+        Logger logger = context.getLogger("guarded");
+
+        assertTrue(logger.isDebugEnabled(LogMarkers.HOT_READ));
+        logger.debug(LogMarkers.HOT_READ, "read");
+        assertEquals(1, appender.list.size());
+    }
+}
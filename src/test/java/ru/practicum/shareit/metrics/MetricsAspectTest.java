@@ -0,0 +1,73 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.user.UserServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Only methods of the application's service interfaces are timed, each by one timer per outcome.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(MetricsAspectTest.Probes.class)
+class MetricsAspectTest {
+    private static final String SERVICE_TIMER = "shareit.service.invocations";
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private ProbeService probeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void timesServiceInterfaceMethodsOnly() {
+        long user = userService.create(new UserDto(null, "timed", "timed@mail.ru")).getId();
+        Timer before = timer("getById");
+        long counted = before != null ? before.count() : 0;
+
+        userService.getById(user);
+        userService.getById(user);
+        probeService.probe();
+
+        Timer after = timer("getById");
+        assertNotNull(after);
+        assertEquals(counted + 2, after.count());
+        assertNull(timer("probe"));
+    }
+
+    private Timer timer(String method) {
+        return meterRegistry.find(SERVICE_TIMER).tag("method", method).tag("exception", "none").timer();
+    }
+
+    @TestConfiguration
+    static class Probes {
+        @Bean
+        ProbeService probeService() {
+            return new ProbeService();
+        }
+    }
+
+    /**
+     * Named like a service but not one of the application's service interfaces.
+     */
+    static class ProbeService {
+        public String probe() {
+            return "probe";
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every request is recorded against one summary per method and URI pattern, whatever the path variables.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlBudgetInterceptorTest {
+    private static final String STATEMENTS = "shareit.http.sql.statements";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void recordsStatementsPerUriPattern() throws Exception {
+        long first = userService.create(new UserDto(null, "first", "budget-first@mail.ru")).getId();
+        long second = userService.create(new UserDto(null, "second", "budget-second@mail.ru")).getId();
+        mockMvc.perform(get("/users/{id}", first)).andExpect(status().isOk());
+        DistributionSummary summary = summary();
+        long counted = summary.count();
+
+        mockMvc.perform(get("/users/{id}", first)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/{id}", second)).andExpect(status().isOk());
+
+        assertSame(summary, summary());
+        assertEquals(counted + 2, summary.count());
+    }
+
+    private DistributionSummary summary() {
+        return meterRegistry.get(STATEMENTS).tag("method", "GET").tag("uri", "/users/{id}").summary();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+    private final KeysetCursor<LocalDateTime> cursor = new KeysetCursor<>("created", LocalDateTime::parse);
+
+    @Test
+    void decodesWhatItEncodes() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+        KeysetScrollPosition position = cursor.decode(cursor.encode(created, 42L));
+
+        assertEquals(Map.of("created", created, "id", 42L), position.getKeys());
+    }
+
+    @Test
+    void missingCursorStartsFromTheTop() {
+        assertTrue(cursor.decode(null).isInitial());
+        assertTrue(cursor.decode(" ").isInitial());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String raw : new String[] {"no-separator", "yesterday|1", "2024-05-01T12:30|x"}) {
+            String encoded = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThrows(ValidationException.class, () -> cursor.decode(encoded), raw);
+        }
+        assertThrows(ValidationException.class, () -> cursor.decode("not base64!"));
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.pagination.KeysetCursor.NEXT_CURSOR_HEADER;
+
+/**
+ * The feed of other users' requests pages by (created, id) newest first, and every page attaches the answering
+ * items of all its requests with one query.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemRequestControllerTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cursorWalksOtherRequestsNewestFirstWithoutOwn() throws Exception {
+        long requestor = user("feed-requestor");
+        long viewer = user("feed-viewer");
+        // Dated ahead of every other request in the database, so the fixture heads the feed.
+        LocalDateTime head = LocalDateTime.now().plusYears(100);
+        long own = request(viewer, "Own request", head.plusDays(1));
+        long oldest = request(requestor, "Oldest", head.minusDays(1));
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tied.add(request(requestor, "Tied " + i, head));
+        }
+        long newest = request(requestor, "Newest", head.plusHours(1));
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/requests/all").param("limit", "2")
+                    .header(USER_HEADER, viewer);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse();
+            List<Long> page = ids(objectMapper.readTree(response.getContentAsString()));
+            pageSizes.add(page.size());
+            seen.addAll(page);
+            cursor = response.getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        List<Long> expected = new ArrayList<>();
+        expected.add(newest);
+        expected.addAll(tied.reversed());
+        expected.add(oldest);
+        assertEquals(expected, seen.subList(0, expected.size()));
+        assertEquals(List.of(2, 2), pageSizes.subList(0, 2));
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+        assertFalse(seen.contains(own));
+    }
+
+    @Test
+    void answersAreAttachedPerRequestWithOneQuery() throws Exception {
+        long requestor = user("answers-requestor");
+        long owner = user("answers-owner");
+        long drills = itemRequestService.create(requestor, new ItemRequestCreateDto("Need a drill")).getId();
+        long saws = itemRequestService.create(requestor, new ItemRequestCreateDto("Need a saw")).getId();
+        long unanswered = itemRequestService.create(requestor, new ItemRequestCreateDto("Need a ladder")).getId();
+        long drill = item(owner, "Drill", drills);
+        long hammerDrill = item(owner, "Hammer drill", drills);
+        long saw = item(owner, "Saw", saws);
+        item(owner, "Unrequested", null);
+
+        AtomicReference<JsonNode> own = new AtomicReference<>();
+        List<String> sql = sqlStatementCounter.capture(() -> own.set(read(get("/requests")
+                .header(USER_HEADER, requestor))));
+
+        Map<Long, List<Long>> answers = Map.of(
+                drills, List.of(drill, hammerDrill),
+                saws, List.of(saw),
+                unanswered, List.of());
+        assertEquals(3, own.get().size());
+        own.get().forEach(request -> {
+            List<Long> items = ids(request.get("items"));
+            items.sort(null);
+            assertEquals(answers.get(request.get("id").asLong()), items);
+        });
+        assertEquals(1, sql.stream().filter(statement -> statement.contains("request_id in")).count(),
+                () -> "answers were not loaded with one query: " + sql);
+        assertEquals(List.of(saw), ids(read(get("/requests/{id}", saws).header(USER_HEADER, owner)).get("items")));
+    }
+
+    @Test
+    void unknownRequestIsNotFound() throws Exception {
+        long viewer = user("missing-viewer");
+
+        mockMvc.perform(get("/requests/{id}", Long.MAX_VALUE).header(USER_HEADER, viewer))
+                .andExpect(status().isNotFound());
+    }
+
+    private long user(String name) {
+        return userService.create(new UserDto(null, name, name + "@mail.ru")).getId();
+    }
+
+    private long request(long requestor, String description, LocalDateTime created) {
+        long id = itemRequestService.create(requestor, new ItemRequestCreateDto(description)).getId();
+        jdbcTemplate.update("UPDATE item_requests SET created = ? WHERE id = ?", created, id);
+        return id;
+    }
+
+    private long item(long owner, String name, Long requestId) {
+        return itemService.create(owner, new ItemCreateDto(name, name, true, null, requestId)).getId();
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) {
+        try {
+            return objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Long> ids(JsonNode nodes) {
+        List<Long> ids = new ArrayList<>();
+        nodes.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON exports page through the database behind one response: each must write one JSON object per
+ * line, carry on across page boundaries without gaps or repeats, and answer an empty export with an empty body.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class NdjsonStreamingTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int ITEM_PAGE = 100;
+    private static final int BOOKING_PAGE = 100;
+    private static final int USER_PAGE = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void itemsContinueAcrossPages() throws Exception {
+        long owner = user("items-owner");
+        List<ItemCreateDto> items = IntStream.range(0, ITEM_PAGE + 1)
+                .mapToObj(i -> new ItemCreateDto("Item " + i, "Streamed item", true, null, null))
+                .toList();
+        itemService.createBatch(owner, items);
+
+        List<JsonNode> lines = stream(get("/items").header(USER_HEADER, owner));
+
+        assertEquals(ITEM_PAGE + 1, lines.size());
+        assertAscendingIds(lines);
+        assertEquals("Item 0", lines.getFirst().get("name").asText());
+        assertEquals("Item " + ITEM_PAGE, lines.getLast().get("name").asText());
+    }
+
+    @Test
+    void bookingsContinueAcrossPagesForBookerAndOwner() throws Exception {
+        long owner = user("bookings-owner");
+        long booker = user("bookings-booker");
+        long item = itemService.create(owner, new ItemCreateDto("Drill", "Cordless drill", true, null, null))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKING_PAGE + 1; i++) {
+            bookings.add(new BookingDto(null, start.plusHours(2L * i), start.plusHours(2L * i + 1), item, null,
+                    null));
+        }
+        bookingService.createBookings(booker, bookings);
+
+        for (MockHttpServletRequestBuilder request : List.of(get("/bookings").header(USER_HEADER, booker),
+                get("/bookings/owner").header(USER_HEADER, owner))) {
+            List<JsonNode> lines = stream(request);
+
+            assertEquals(BOOKING_PAGE + 1, lines.size());
+            assertEquals(BOOKING_PAGE + 1, lines.stream().map(line -> line.get("id").asLong()).distinct().count());
+            for (int i = 1; i < lines.size(); i++) {
+                assertTrue(LocalDateTime.parse(lines.get(i - 1).get("start").asText())
+                        .isAfter(LocalDateTime.parse(lines.get(i).get("start").asText())));
+            }
+        }
+    }
+
+    @Test
+    void usersContinueAcrossPages() throws Exception {
+        int existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        for (int i = existing; i <= USER_PAGE; i++) {
+            user("paged-" + i);
+        }
+
+        List<JsonNode> lines = stream(get("/users"));
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class), lines.size());
+        assertTrue(lines.size() > USER_PAGE);
+        assertAscendingIds(lines);
+    }
+
+    @Test
+    void emptyExportsHaveEmptyBody() throws Exception {
+        long lonely = user("lonely");
+
+        assertTrue(stream(get("/items").header(USER_HEADER, lonely)).isEmpty());
+        assertTrue(stream(get("/bookings").header(USER_HEADER, lonely)).isEmpty());
+        assertTrue(stream(get("/bookings/owner").header(USER_HEADER, lonely)).isEmpty());
+    }
+
+    private List<JsonNode> stream(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request.accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        if (body.isEmpty()) {
+            return List.of();
+        }
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            assertTrue(node.isObject(), line);
+            lines.add(node);
+        }
+        return lines;
+    }
+
+    private static void assertAscendingIds(List<JsonNode> lines) {
+        for (int i = 1; i < lines.size(); i++) {
+            assertTrue(lines.get(i - 1).get("id").asLong() < lines.get(i).get("id").asLong());
+        }
+    }
+
+    private long user(String name) {
+        return userService.create(new UserDto(null, name, name + "-ndjson@mail.ru")).getId();
+    }
+}
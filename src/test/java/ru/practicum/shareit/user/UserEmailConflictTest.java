@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Email uniqueness is left to uq_users_email: creation only hits it at commit, an update on flush, and both
+ * must answer 409 without touching the existing user.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserEmailConflictTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void creatingUserWithTakenEmailConflicts() throws Exception {
+        userService.create(new UserDto(null, "first", "taken-on-create@mail.ru"));
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"second\",\"email\":\"taken-on-create@mail.ru\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Email already exists"));
+    }
+
+    @Test
+    void changingEmailToTakenOneConflicts() throws Exception {
+        userService.create(new UserDto(null, "first", "taken-on-update@mail.ru"));
+        long other = userService.create(new UserDto(null, "second", "free-on-update@mail.ru")).getId();
+
+        mockMvc.perform(patch("/users/{id}", other)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"taken-on-update@mail.ru\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Email already exists"));
+        assertEquals("free-on-update@mail.ru", userService.getById(other).getEmail());
+    }
+}